@@ -0,0 +1,145 @@
+package automata;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/*
+ * Tells, for each position i of an input, from which states some prefix
+ * of the input from i on (the empty one included) is accepted. The sets
+ * are computed in one backward pass over the reversed transitions:
+ *
+ * R(n) = states that reach a final state by epsilon transitions
+ * R(i) = R(n) plus the states that reach R(i + 1) reading input[i],
+ * closed backwards by epsilon transitions
+ *
+ * A scan can then stop following a state as soon as it is not in the set
+ * of its position, since no match can end after that. Equal sets are
+ * shared and each (set, symbol) step is computed once per input, so the
+ * memory is that of the distinct sets.
+ */
+class AcceptanceLookahead {
+    private final int stateCount;
+    private final int symbolCount;
+    private final int[] reversedOffsets;
+    private final int[] reversedOrigins;
+    private final int[] reversedSymbolIds;
+    private final StateSet statesThatAcceptTheEmptySuffix;
+
+    /*
+     * Each transition i goes from origins[i] to targets[i] reading
+     * symbolIds[i], or SymbolTable.NO_ID for an epsilon transition
+     */
+    AcceptanceLookahead(
+            int stateCount,
+            int symbolCount,
+            StateSet finalStates,
+            int[] origins,
+            int[] symbolIds,
+            int[] targets) {
+        this.stateCount = stateCount;
+        this.symbolCount = symbolCount;
+
+        reversedOffsets = new int[stateCount + 1];
+        reversedOrigins = new int[origins.length];
+        reversedSymbolIds = new int[origins.length];
+
+        for (var target : targets) {
+            reversedOffsets[target + 1]++;
+        }
+
+        for (var i = 0; i < stateCount; i++) {
+            reversedOffsets[i + 1] += reversedOffsets[i];
+        }
+
+        var nextPositions = reversedOffsets.clone();
+
+        for (var i = 0; i < origins.length; i++) {
+            var position = nextPositions[targets[i]]++;
+
+            reversedOrigins[position] = origins[i];
+            reversedSymbolIds[position] = symbolIds[i];
+        }
+
+        statesThatAcceptTheEmptySuffix = new StateSet(stateCount);
+
+        var statesToVisit = new int[stateCount];
+        var statesToVisitCount = 0;
+
+        for (var state = finalStates.nextStateId(0); state != -1; state = finalStates.nextStateId(state + 1)) {
+            statesThatAcceptTheEmptySuffix.add(state);
+            statesToVisit[statesToVisitCount++] = state;
+        }
+
+        closeBackwardsByEpsilonTransitions(statesThatAcceptTheEmptySuffix, statesToVisit, statesToVisitCount);
+    }
+
+    /*
+     * Returns the sets of the positions 0 to symbols.length; symbols
+     * that are not valid ids accept only the empty suffix
+     */
+    StateSet[] computeFor(int[] symbols) {
+        var setsOfEachPosition = new StateSet[symbols.length + 1];
+        var internedSets = new HashMap<StateSet, StateSet>();
+        var previousSets = new IdentityHashMap<StateSet, StateSet[]>();
+        var statesToVisit = new int[stateCount];
+
+        internedSets.put(statesThatAcceptTheEmptySuffix, statesThatAcceptTheEmptySuffix);
+        setsOfEachPosition[symbols.length] = statesThatAcceptTheEmptySuffix;
+
+        for (var position = symbols.length - 1; position >= 0; position--) {
+            var symbolId = symbols[position];
+            var next = setsOfEachPosition[position + 1];
+
+            if (symbolId < 0 || symbolId >= symbolCount) {
+                setsOfEachPosition[position] = statesThatAcceptTheEmptySuffix;
+                continue;
+            }
+
+            var previousOfNext = previousSets.computeIfAbsent(next, set -> new StateSet[symbolCount]);
+
+            if (previousOfNext[symbolId] == null) {
+                var previous = computePrevious(next, symbolId, statesToVisit);
+                previousOfNext[symbolId] = internedSets.computeIfAbsent(previous, set -> set);
+            }
+
+            setsOfEachPosition[position] = previousOfNext[symbolId];
+        }
+
+        return setsOfEachPosition;
+    }
+
+    private StateSet computePrevious(StateSet next, int symbolId, int[] statesToVisit) {
+        var previous = statesThatAcceptTheEmptySuffix.copy();
+        var statesToVisitCount = 0;
+
+        for (var target = next.nextStateId(0); target != -1; target = next.nextStateId(target + 1)) {
+            for (var i = reversedOffsets[target]; i < reversedOffsets[target + 1]; i++) {
+                var origin = reversedOrigins[i];
+
+                if (reversedSymbolIds[i] == symbolId && !previous.contains(origin)) {
+                    previous.add(origin);
+                    statesToVisit[statesToVisitCount++] = origin;
+                }
+            }
+        }
+
+        closeBackwardsByEpsilonTransitions(previous, statesToVisit, statesToVisitCount);
+
+        return previous;
+    }
+
+    private void closeBackwardsByEpsilonTransitions(StateSet set, int[] statesToVisit, int statesToVisitCount) {
+        while (statesToVisitCount > 0) {
+            var target = statesToVisit[--statesToVisitCount];
+
+            for (var i = reversedOffsets[target]; i < reversedOffsets[target + 1]; i++) {
+                var origin = reversedOrigins[i];
+
+                if (reversedSymbolIds[i] == SymbolTable.NO_ID && !set.contains(origin)) {
+                    set.add(origin);
+                    statesToVisit[statesToVisitCount++] = origin;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,589 @@
+package automata;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import automata.abstractions.AutomatonMatch;
+import automata.abstractions.AutomatonSimulationResult;
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.ITransitionFunction;
+import automata.abstractions.MatchPolicy;
+import utils.ArrayUtils;
+import utils.StringUtils;
+
+/*
+ * Deterministic automaton compiled to dense integer ids:
+ * states and symbols are numbered from zero and the transition
+ * function becomes a flat table where the next state of (state, symbol)
+ * is nextStates[state * symbolCount + symbol]. A missing transition
+ * is represented by NO_STATE.
+ *
+ * Compiled automata keep the table in an int[]. An automaton loaded from
+ * a binary file runs directly on the mapped file instead, reading the
+ * table through an IntBuffer; only its accepting states bitset, which
+ * has one bit per state, is copied into the heap. Such an automaton has
+ * no source automaton: the alphabet and the sets of states are served
+ * from the symbol table and the states, and the transition function is
+ * built from the table the first time it is asked for.
+ */
+public class CompiledDeterministicAutomaton implements IFiniteAutomaton {
+    public static final int NO_STATE = -1;
+
+    private final IFiniteAutomaton sourceAutomaton;
+    private final BaseState[] states;
+    private final SymbolTable symbolTable;
+    private final int symbolCount;
+    private final int[] nextStates;
+    private final IntBuffer mappedNextStates;
+    private final long[] acceptingStates;
+    private final int initialState;
+    private AcceptanceLookahead acceptanceLookahead;
+    private Set<String> alphabet;
+    private Set<BaseState> allStates;
+    private Set<BaseState> finalStates;
+    private ITransitionFunction transitionFunction;
+
+    public CompiledDeterministicAutomaton(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        if (!automaton.isDeterministic()) {
+            throw new IllegalArgumentException("The automaton to be compiled must be a deterministic automaton");
+        }
+
+        sourceAutomaton = automaton;
+        states = numberStatesStartingByTheInitialOne();
+        symbolTable = new SymbolTable(automaton.getAlphabet());
+        symbolCount = symbolTable.size();
+        acceptingStates = createAcceptingStatesTable();
+        nextStates = createNextStatesTable();
+        mappedNextStates = null;
+        initialState = 0;
+    }
+
+    /*
+     * Creates the automaton from its tables: states[0] is the initial
+     * state, the next state of (state, symbol) is at state * symbols +
+     * symbol of nextStates and the bit of each accepting state is set on
+     * acceptingStates. A nextStates backed by an array runs on that
+     * array; any other, like a mapped file, is read as a buffer
+     */
+    public CompiledDeterministicAutomaton(
+            BaseState[] states,
+            SymbolTable symbolTable,
+            IntBuffer nextStates,
+            LongBuffer acceptingStates) {
+        Objects.requireNonNull(states);
+        Objects.requireNonNull(symbolTable);
+        Objects.requireNonNull(nextStates);
+        Objects.requireNonNull(acceptingStates);
+
+        if (states.length == 0) {
+            throw new IllegalArgumentException("The automaton must have at least one state");
+        }
+
+        if (nextStates.remaining() != (long) states.length * symbolTable.size()) {
+            throw new IllegalArgumentException("The next states table does not match the number of states and symbols");
+        }
+
+        if (acceptingStates.remaining() != StateSet.wordsNeededFor(states.length)) {
+            throw new IllegalArgumentException("The accepting states bitset does not match the number of states");
+        }
+
+        this.sourceAutomaton = null;
+        this.states = states;
+        this.symbolTable = symbolTable;
+        this.symbolCount = symbolTable.size();
+        this.initialState = 0;
+        this.acceptingStates = new long[acceptingStates.remaining()];
+
+        acceptingStates.slice().get(this.acceptingStates);
+
+        if (nextStates.hasArray()) {
+            var start = nextStates.arrayOffset() + nextStates.position();
+
+            this.nextStates = start == 0 && nextStates.array().length == nextStates.remaining()
+                    ? nextStates.array()
+                    : Arrays.copyOfRange(nextStates.array(), start, start + nextStates.remaining());
+            this.mappedNextStates = null;
+        } else {
+            this.nextStates = null;
+            this.mappedNextStates = nextStates.slice();
+        }
+    }
+
+    private BaseState[] numberStatesStartingByTheInitialOne() {
+        var allStates = sourceAutomaton.getAllStates();
+        var initial = sourceAutomaton.getInitialState();
+        var numberedStates = new BaseState[allStates.size()];
+        var nextId = 1;
+
+        numberedStates[0] = initial;
+
+        for (var state : allStates) {
+            if (!state.equals(initial)) {
+                numberedStates[nextId++] = state;
+            }
+        }
+
+        return numberedStates;
+    }
+
+    private long[] createAcceptingStatesTable() {
+        var finalStates = sourceAutomaton.getFinalStates();
+        var table = new long[StateSet.wordsNeededFor(states.length)];
+
+        for (var i = 0; i < states.length; i++) {
+            if (finalStates.contains(states[i])) {
+                table[i >>> 6] |= 1L << i;
+            }
+        }
+
+        return table;
+    }
+
+    private int[] createNextStatesTable() {
+        var stateIds = new HashMap<BaseState, Integer>();
+        var transitionFunction = sourceAutomaton.getTransitionFunction();
+        var table = new int[states.length * symbolCount];
+
+        for (var i = 0; i < states.length; i++) {
+            stateIds.put(states[i], i);
+        }
+
+        for (var i = 0; i < states.length; i++) {
+            for (var j = 0; j < symbolCount; j++) {
+                var destinations = transitionFunction.whereToGoWith(states[i], symbolTable.symbolOf(j));
+                var cell = i * symbolCount + j;
+
+                table[cell] = destinations.isEmpty()
+                        ? NO_STATE
+                        : stateIds.get(destinations.iterator().next());
+            }
+        }
+
+        return table;
+    }
+
+    public int getStateCount() {
+        return states.length;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    public int getInitialStateId() {
+        return initialState;
+    }
+
+    public BaseState getStateById(int stateId) {
+        return states[stateId];
+    }
+
+    public boolean isAcceptingStateId(int stateId) {
+        return (acceptingStates[stateId >>> 6] & (1L << stateId)) != 0;
+    }
+
+    /*
+     * Returns the id of the symbol or SymbolTable.NO_ID if
+     * the symbol does not belong to the alphabet
+     */
+    public int getSymbolId(String symbol) {
+        return symbolTable.idOf(symbol);
+    }
+
+    public int nextStateOf(int stateId, int symbolId) {
+        var cell = stateId * symbolCount + symbolId;
+
+        return mappedNextStates == null ? nextStates[cell] : mappedNextStates.get(cell);
+    }
+
+    private int nextStateOfValidatingTheSymbol(int stateId, int symbolId) {
+        if (!symbolTable.containsId(symbolId)) {
+            return NO_STATE;
+        }
+
+        return nextStateOf(stateId, symbolId);
+    }
+
+    /*
+     * Runs the sentence without recording the visited states
+     */
+    @Override
+    public boolean accepts(String... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        var currentState = initialState;
+
+        for (var symbol : sentence) {
+            currentState = nextStateOfValidatingTheSymbol(currentState, symbolTable.idOf(symbol));
+
+            if (currentState == NO_STATE) {
+                return false;
+            }
+        }
+
+        return isAcceptingStateId(currentState);
+    }
+
+    /*
+     * Runs a sentence tokenized by the symbol table without
+     * recording the visited states
+     */
+    public boolean accepts(int... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        var currentState = initialState;
+
+        for (var symbolId : sentence) {
+            currentState = nextStateOfValidatingTheSymbol(currentState, symbolId);
+
+            if (currentState == NO_STATE) {
+                return false;
+            }
+        }
+
+        return isAcceptingStateId(currentState);
+    }
+
+    /*
+     * Reads each character of the text as a symbol, looking it up
+     * directly on the character table of the symbol table
+     */
+    public boolean acceptsCharacters(CharSequence text) {
+        StringUtils.throwIfNullOrEmpty(text, "text");
+        symbolTable.throwIfIsNotACharacterAlphabet();
+
+        var currentState = initialState;
+
+        for (var i = 0; i < text.length(); i++) {
+            var symbolId = symbolTable.idOf(text.charAt(i));
+
+            if (symbolId == SymbolTable.NO_ID) {
+                return false;
+            }
+
+            currentState = nextStateOf(currentState, symbolId);
+
+            if (currentState == NO_STATE) {
+                return false;
+            }
+        }
+
+        return isAcceptingStateId(currentState);
+    }
+
+    @Override
+    public List<AutomatonMatch> findMatches(MatchPolicy policy, String... symbols) {
+        ArrayUtils.throwIfNullOrEmpty(symbols, "symbols");
+
+        return findMatches(policy, symbolTable.tokenize(symbols));
+    }
+
+    /*
+     * Scans in time linear in the input (plus the matches listed): a
+     * backward pass first finds, for each position, the states from
+     * which a match can still end, and the forward pass only follows
+     * runs that will reach a match. Empty matches are never reported.
+     */
+    public List<AutomatonMatch> findMatches(MatchPolicy policy, int... symbols) {
+        Objects.requireNonNull(policy);
+        ArrayUtils.throwIfNullOrEmpty(symbols, "symbols");
+
+        var lookahead = getAcceptanceLookahead().computeFor(symbols);
+
+        return policy == MatchPolicy.LEFTMOST_LONGEST
+                ? findLeftmostLongestMatches(symbols, lookahead)
+                : findAllOverlappingMatches(symbols, lookahead);
+    }
+
+    private synchronized AcceptanceLookahead getAcceptanceLookahead() {
+        if (acceptanceLookahead == null) {
+            var transitionCount = 0;
+
+            for (var i = 0; i < states.length; i++) {
+                for (var j = 0; j < symbolCount; j++) {
+                    transitionCount += nextStateOf(i, j) == NO_STATE ? 0 : 1;
+                }
+            }
+
+            var origins = new int[transitionCount];
+            var symbolIds = new int[transitionCount];
+            var targets = new int[transitionCount];
+            var acceptingStateSet = new StateSet(states.length);
+            var transition = 0;
+
+            for (var i = 0; i < states.length; i++) {
+                if (isAcceptingStateId(i)) {
+                    acceptingStateSet.add(i);
+                }
+
+                for (var j = 0; j < symbolCount; j++) {
+                    if (nextStateOf(i, j) != NO_STATE) {
+                        origins[transition] = i;
+                        symbolIds[transition] = j;
+                        targets[transition++] = nextStateOf(i, j);
+                    }
+                }
+            }
+
+            acceptanceLookahead = new AcceptanceLookahead(
+                    states.length, symbolCount, acceptingStateSet, origins, symbolIds, targets);
+        }
+
+        return acceptanceLookahead;
+    }
+
+    /*
+     * The run of each start is only followed while a match can still
+     * end, so it stops right after its longest match, and the next start
+     * is that end: each symbol is read at most twice
+     */
+    private List<AutomatonMatch> findLeftmostLongestMatches(int[] symbols, StateSet[] lookahead) {
+        var matches = new ArrayList<AutomatonMatch>();
+        var start = 0;
+
+        while (start < symbols.length) {
+            var currentState = nextStateOfValidatingTheSymbol(initialState, symbols[start]);
+            var position = start + 1;
+
+            if (currentState == NO_STATE || !lookahead[position].contains(currentState)) {
+                start++;
+                continue;
+            }
+
+            var longestMatchEnd = -1;
+
+            while (true) {
+                if (isAcceptingStateId(currentState)) {
+                    longestMatchEnd = position;
+                }
+
+                if (position == symbols.length) {
+                    break;
+                }
+
+                var nextState = nextStateOfValidatingTheSymbol(currentState, symbols[position]);
+
+                if (nextState == NO_STATE || !lookahead[position + 1].contains(nextState)) {
+                    break;
+                }
+
+                currentState = nextState;
+                position++;
+            }
+
+            matches.add(new AutomatonMatch(start, longestMatchEnd));
+            start = longestMatchEnd;
+        }
+
+        return matches;
+    }
+
+    /*
+     * One pass with a run starting at each position; runs in the same
+     * state are joined, so each step follows at most one run per state
+     */
+    private List<AutomatonMatch> findAllOverlappingMatches(int[] symbols, StateSet[] lookahead) {
+        var matches = new ArrayList<AutomatonMatch>();
+        var slotOfState = new int[states.length];
+        var runStates = new int[states.length];
+        var runStarts = new MatchStarts[states.length];
+        var nextRunStates = new int[states.length];
+        var nextRunStarts = new MatchStarts[states.length];
+        var runCount = 0;
+
+        Arrays.fill(slotOfState, -1);
+
+        for (var position = 0; position < symbols.length; position++) {
+            var slot = slotOfState[initialState];
+
+            if (slot == -1) {
+                runStates[runCount] = initialState;
+                runStarts[runCount++] = MatchStarts.of(position);
+            } else {
+                runStarts[slot] = MatchStarts.union(runStarts[slot], MatchStarts.of(position));
+            }
+
+            for (var run = 0; run < runCount; run++) {
+                slotOfState[runStates[run]] = -1;
+            }
+
+            var nextRunCount = 0;
+
+            for (var run = 0; run < runCount; run++) {
+                var nextState = nextStateOfValidatingTheSymbol(runStates[run], symbols[position]);
+
+                if (nextState == NO_STATE || !lookahead[position + 1].contains(nextState)) {
+                    continue;
+                }
+
+                if (slotOfState[nextState] == -1) {
+                    slotOfState[nextState] = nextRunCount;
+                    nextRunStates[nextRunCount] = nextState;
+                    nextRunStarts[nextRunCount++] = runStarts[run];
+                } else {
+                    var nextSlot = slotOfState[nextState];
+                    nextRunStarts[nextSlot] = MatchStarts.union(nextRunStarts[nextSlot], runStarts[run]);
+                }
+            }
+
+            for (var run = 0; run < nextRunCount; run++) {
+                if (isAcceptingStateId(nextRunStates[run])) {
+                    nextRunStarts[run].addMatchesEndingAt(position + 1, matches);
+                }
+            }
+
+            var previousRunStates = runStates;
+            var previousRunStarts = runStarts;
+
+            runStates = nextRunStates;
+            runStarts = nextRunStarts;
+            runCount = nextRunCount;
+            nextRunStates = previousRunStates;
+            nextRunStarts = previousRunStarts;
+        }
+
+        MatchStarts.sortByStartThenEnd(matches);
+
+        return matches;
+    }
+
+    @Override
+    public synchronized Set<String> getAlphabet() {
+        if (sourceAutomaton != null) {
+            return sourceAutomaton.getAlphabet();
+        }
+
+        if (alphabet == null) {
+            var symbols = new HashSet<String>();
+
+            for (var symbolId = 0; symbolId < symbolCount; symbolId++) {
+                symbols.add(symbolTable.symbolOf(symbolId));
+            }
+
+            alphabet = Collections.unmodifiableSet(symbols);
+        }
+
+        return alphabet;
+    }
+
+    @Override
+    public synchronized Set<BaseState> getAllStates() {
+        if (sourceAutomaton != null) {
+            return sourceAutomaton.getAllStates();
+        }
+
+        if (allStates == null) {
+            allStates = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(states)));
+        }
+
+        return allStates;
+    }
+
+    @Override
+    public BaseState getInitialState() {
+        return states[initialState];
+    }
+
+    @Override
+    public synchronized Set<BaseState> getFinalStates() {
+        if (sourceAutomaton != null) {
+            return sourceAutomaton.getFinalStates();
+        }
+
+        if (finalStates == null) {
+            var acceptingStateSet = new HashSet<BaseState>();
+
+            for (var stateId = 0; stateId < states.length; stateId++) {
+                if (isAcceptingStateId(stateId)) {
+                    acceptingStateSet.add(states[stateId]);
+                }
+            }
+
+            finalStates = Collections.unmodifiableSet(acceptingStateSet);
+        }
+
+        return finalStates;
+    }
+
+    /*
+     * Automata loaded from their tables build it on the first call,
+     * since it needs every transition as an object
+     */
+    @Override
+    public synchronized ITransitionFunction getTransitionFunction() {
+        if (sourceAutomaton != null) {
+            return sourceAutomaton.getTransitionFunction();
+        }
+
+        if (transitionFunction == null) {
+            var transitions = new HashSet<BaseTransition>();
+
+            for (var i = 0; i < states.length; i++) {
+                for (var j = 0; j < symbolCount; j++) {
+                    var nextState = nextStateOf(i, j);
+
+                    if (nextState != NO_STATE) {
+                        transitions.add(new Transition(states[i], symbolTable.symbolOf(j), states[nextState]));
+                    }
+                }
+            }
+
+            transitionFunction = new TransitionFunction(transitions, true);
+        }
+
+        return transitionFunction;
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return true;
+    }
+
+    @Override
+    public AutomatonSimulationResult simulate(String... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+        ArrayUtils.throwIfAnyElementIsNullOrEmpty(sentence, "sentence");
+
+        return simulate(symbolTable.tokenize(sentence));
+    }
+
+    /*
+     * Simulates a sentence tokenized by the symbol table
+     */
+    public AutomatonSimulationResult simulate(int... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        var visitedStates = new ArrayList<BaseState>(sentence.length + 1);
+        var currentState = initialState;
+
+        visitedStates.add(states[currentState]);
+
+        for (var symbolId : sentence) {
+            currentState = nextStateOfValidatingTheSymbol(currentState, symbolId);
+
+            if (currentState == NO_STATE) {
+                return new AutomatonSimulationResult(false, visitedStates);
+            }
+
+            visitedStates.add(states[currentState]);
+        }
+
+        return new AutomatonSimulationResult(isAcceptingStateId(currentState), visitedStates);
+    }
+}
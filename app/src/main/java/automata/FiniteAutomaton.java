@@ -1,18 +1,22 @@
 package automata;
 
-import java.util.Set;
+import java.util.HashSet;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import utils.ArrayUtils;
 import utils.CollectionUtils;
+import utils.StringUtils;
+import automata.abstractions.AutomatonMatch;
 import automata.abstractions.AutomatonSimulationResult;
 import automata.abstractions.BaseState;
 import automata.abstractions.BaseTransition;
 import automata.abstractions.IFiniteAutomaton;
 import automata.abstractions.ITransitionFunction;
+import automata.abstractions.MatchPolicy;
 
 public class FiniteAutomaton implements IFiniteAutomaton {
     private final Set<String> alphabet;
@@ -20,57 +24,104 @@ public class FiniteAutomaton implements IFiniteAutomaton {
     private final BaseState initialState;
     private final Set<BaseState> finalStates;
     private final ITransitionFunction transitionFunction;
+    private final boolean hasEpsilonTransitions;
     private final boolean isDeterministic;
+    private final CompiledDeterministicAutomaton compiledAutomaton;
+    private final NonDeterministicAutomatonSimulator nonDeterministicSimulator;
+    private LazyDeterministicAutomaton lazyDeterministicAutomaton;
 
     public FiniteAutomaton(Set<? extends BaseTransition> transitionSet) {
-        CollectionUtils.throwIfNullOrEmpty(transitionSet, "transitionSet");
+        // extractAllStatesFrom checks the transition set before anything else reads it
+        this(transitionSet, extractAllStatesFrom(transitionSet), extractAlphabetFrom(transitionSet));
+    }
+
+    /*
+     * For automata with states or symbols that no transition uses, like
+     * the minimal automata, which keep the symbols that only lead to the
+     * dead state. The transition set can be empty, as in the automata of
+     * the empty language and of the empty sentence
+     */
+    public FiniteAutomaton(
+            Set<? extends BaseTransition> transitionSet,
+            Set<? extends BaseState> states,
+            Set<String> alphabet) {
+        Objects.requireNonNull(transitionSet);
+        CollectionUtils.throwIfNullOrEmpty(states, "states");
+        Objects.requireNonNull(alphabet);
 
-        initialState = extractTheInitialStateAndValidateIt(transitionSet);
-        allStates = extractAllStatesFrom(transitionSet);
-        alphabet = extractAlphabetFrom(transitionSet);
-        finalStates = extractFinalStatesFrom(transitionSet);
-        transitionFunction = new TransitionFunction(transitionSet);
+        alphabet.forEach(symbol -> StringUtils.throwIfNullOrEmpty(symbol, "symbol"));
+        throwIfATransitionIsNotCoveredBy(transitionSet, states, alphabet);
+
+        initialState = extractTheInitialStateAndValidateIt(states);
+        allStates = new HashSet<>(states);
+        this.alphabet = new HashSet<>(alphabet);
+        finalStates = extractFinalStatesFrom(states);
+        transitionFunction = new TransitionFunction(transitionSet, true);
+        hasEpsilonTransitions = transitionSet.stream().anyMatch(t -> t.isAnEpsilonTransition());
         isDeterministic = checkIfAutomatonIsDeterministic();
+        compiledAutomaton = isDeterministic ? new CompiledDeterministicAutomaton(this) : null;
+        nonDeterministicSimulator = isDeterministic ? null : new NonDeterministicAutomatonSimulator(this);
     }
 
-    private BaseState extractTheInitialStateAndValidateIt(Set<? extends BaseTransition> transitionSet) {
-        var initialStates = transitionSet.stream()
-                .map(t -> Stream.concat(Stream.of(t.getOrigin()), t.getDestinations().stream()))
-                .flatMap(s -> s)
+    private static void throwIfATransitionIsNotCoveredBy(
+            Set<? extends BaseTransition> transitionSet,
+            Set<? extends BaseState> states,
+            Set<String> alphabet) {
+        for (var transition : transitionSet) {
+            if (!transition.isAnEpsilonTransition() && !alphabet.contains(transition.getSymbol())) {
+                throw new IllegalArgumentException("The symbol " + transition.getSymbol() + " is not in the alphabet");
+            }
+
+            if (!states.contains(transition.getOrigin()) || !states.containsAll(transition.getDestinations())) {
+                throw new IllegalArgumentException("A transition from the state " + transition.getOrigin().getIdentifier()
+                        + " has states that are not in the state set");
+            }
+        }
+    }
+
+    private static BaseState extractTheInitialStateAndValidateIt(Set<? extends BaseState> states) {
+        var initialStates = states.stream()
                 .filter(s -> s.isTheInitialState())
                 .collect(Collectors.toSet());
 
         if (initialStates.isEmpty()) {
-            throw new IllegalArgumentException("The transition set does not have a initial state defined");
+            throw new IllegalArgumentException("The automaton does not have a initial state defined");
         }
 
         if (initialStates.size() != 1) {
-            throw new IllegalArgumentException("The transition set has more than one initial state defined");
+            throw new IllegalArgumentException("The automaton has more than one initial state defined");
         }
 
         return initialStates.iterator().next();
     }
 
-    private Set<String> extractAlphabetFrom(Set<? extends BaseTransition> transitionSet) {
-        return transitionSet.stream().map(s -> s.getSymbol()).collect(Collectors.toSet());
+    private static Set<String> extractAlphabetFrom(Set<? extends BaseTransition> transitionSet) {
+        return transitionSet.stream()
+                .filter(t -> !t.isAnEpsilonTransition())
+                .map(s -> s.getSymbol())
+                .collect(Collectors.toSet());
     }
 
-    private Set<BaseState> extractAllStatesFrom(Set<? extends BaseTransition> transitionSet) {
+    private static Set<BaseState> extractAllStatesFrom(Set<? extends BaseTransition> transitionSet) {
+        CollectionUtils.throwIfNullOrEmpty(transitionSet, "transitionSet");
+
         return transitionSet.stream()
                 .map(t -> Stream.concat(Stream.of(t.getOrigin()), t.getDestinations().stream()))
                 .flatMap(s -> s)
                 .collect(Collectors.toSet());
     }
 
-    private Set<BaseState> extractFinalStatesFrom(Set<? extends BaseTransition> transitionSet) {
-        return transitionSet.stream()
-                .map(t -> Stream.concat(Stream.of(t.getOrigin()), t.getDestinations().stream()))
-                .flatMap(s -> s)
+    private static Set<BaseState> extractFinalStatesFrom(Set<? extends BaseState> states) {
+        return states.stream()
                 .filter(s -> s.isAFinalState())
                 .collect(Collectors.toSet());
     }
 
     private boolean checkIfAutomatonIsDeterministic() {
+        if (hasEpsilonTransitions) {
+            return false;
+        }
+
         for (var state : allStates) {
             for (var symbol : alphabet) {
                 var whereToGo = transitionFunction.whereToGoWith(state, symbol);
@@ -84,34 +135,6 @@ public class FiniteAutomaton implements IFiniteAutomaton {
         return true;
     }
 
-    private boolean isSentenceAcceptable(
-            String[] sentence,
-            BaseState currentState,
-            int currentSymbolIndex,
-            List<BaseState> visitedStates) {
-        visitedStates.add(currentState);
-
-        if (currentSymbolIndex == sentence.length) {
-            return currentState.isAFinalState();
-        }
-
-        var currentSymbol = sentence[currentSymbolIndex];
-        var nextStates = transitionFunction.whereToGoWith(currentState, currentSymbol);
-
-        // non determinism: create a machine for each state (if there is more than
-        // one possible state to go to) and check if this machine can accept the
-        // sentence. Keep doing this while the sentence was not accepted
-        for (var state : nextStates) {
-            if (isSentenceAcceptable(sentence, state, currentSymbolIndex + 1, visitedStates)) {
-                return true;
-            }
-        }
-
-        // if none of the next states was accepted or there
-        // is no state to go to, then the sentence cannot be accepted
-        return false;
-    }
-
     @Override
     public Set<String> getAlphabet() {
         return alphabet;
@@ -137,18 +160,121 @@ public class FiniteAutomaton implements IFiniteAutomaton {
         return isDeterministic;
     }
 
+    /*
+     * Epsilon transitions are not part of the alphabet, and
+     * an automaton that has them is non deterministic
+     */
+    public boolean hasEpsilonTransitions() {
+        return hasEpsilonTransitions;
+    }
+
     @Override
     public ITransitionFunction getTransitionFunction() {
         return transitionFunction;
     }
 
+    /*
+     * Table that tokenizes sentences for simulate(int...); tokenizing a
+     * sentence once avoids the symbol lookups on repeated simulations
+     */
+    public SymbolTable getSymbolTable() {
+        return isDeterministic
+                ? compiledAutomaton.getSymbolTable()
+                : nonDeterministicSimulator.getSymbolTable();
+    }
+
     @Override
     public AutomatonSimulationResult simulate(String... sentence) {
         ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
         ArrayUtils.throwIfAnyElementIsNullOrEmpty(sentence, "sentence");
 
-        var visitedStates = new ArrayList<BaseState>();
-        var isAcceptable = isSentenceAcceptable(sentence, initialState, 0, visitedStates);
-        return new AutomatonSimulationResult(isAcceptable, visitedStates);
+        if (isDeterministic) {
+            return compiledAutomaton.simulate(sentence);
+        }
+
+        return nonDeterministicSimulator.simulate(sentence);
+    }
+
+    /*
+     * Simulates a sentence tokenized by getSymbolTable()
+     */
+    public AutomatonSimulationResult simulate(int... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        if (isDeterministic) {
+            return compiledAutomaton.simulate(sentence);
+        }
+
+        return nonDeterministicSimulator.simulate(sentence);
+    }
+
+    /*
+     * Only tells if the sentence is accepted, without
+     * allocating anything per symbol to record the visited states
+     */
+    @Override
+    public boolean accepts(String... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+        ArrayUtils.throwIfAnyElementIsNullOrEmpty(sentence, "sentence");
+
+        if (isDeterministic) {
+            return compiledAutomaton.accepts(sentence);
+        }
+
+        return nonDeterministicSimulator.accepts(sentence);
+    }
+
+    public boolean accepts(int... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        if (isDeterministic) {
+            return compiledAutomaton.accepts(sentence);
+        }
+
+        return nonDeterministicSimulator.accepts(sentence);
+    }
+
+    /*
+     * Whether every symbol of the alphabet is a single character,
+     * which allows simulating text with acceptsCharacters
+     */
+    public boolean isACharacterAlphabet() {
+        return getSymbolTable().isACharacterAlphabet();
+    }
+
+    /*
+     * Reads each character of the text as a symbol, without splitting
+     * it into a String[]. The alphabet must be made of single characters
+     */
+    public boolean acceptsCharacters(CharSequence text) {
+        StringUtils.throwIfNullOrEmpty(text, "text");
+        getSymbolTable().throwIfIsNotACharacterAlphabet();
+
+        if (isDeterministic) {
+            return compiledAutomaton.acceptsCharacters(text);
+        }
+
+        return nonDeterministicSimulator.acceptsCharacters(text);
+    }
+
+    /*
+     * Deterministic automata scan over their compiled table and non
+     * deterministic ones over a lazily built deterministic automaton
+     */
+    @Override
+    public List<AutomatonMatch> findMatches(MatchPolicy policy, String... symbols) {
+        if (isDeterministic) {
+            return compiledAutomaton.findMatches(policy, symbols);
+        }
+
+        return getLazyDeterministicAutomaton().findMatches(policy, symbols);
+    }
+
+    private synchronized LazyDeterministicAutomaton getLazyDeterministicAutomaton() {
+        if (lazyDeterministicAutomaton == null) {
+            lazyDeterministicAutomaton = new LazyDeterministicAutomaton(this);
+        }
+
+        return lazyDeterministicAutomaton;
     }
 }
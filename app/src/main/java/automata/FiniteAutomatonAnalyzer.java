@@ -0,0 +1,390 @@
+package automata;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonAnalyzer;
+
+/*
+ * Graph queries over the transition function, each one O(states +
+ * transitions). The transitions of each automaton are read once, through
+ * getTransitionsFrom, into arrays of edges indexed by dense state ids,
+ * with a null symbol for the epsilon transitions. The arrays are kept
+ * while the automaton is in use, so further queries on it reuse them,
+ * and every query is a search over them:
+ *
+ * - reachable states: breadth-first search from the initial state;
+ * - co-reachable states: the same search over the reversed edges,
+ * starting from the final states;
+ * - shortest accepted sentence: breadth-first search where epsilon
+ * edges cost nothing (0-1 BFS), stopping at the first final state;
+ * - finiteness: the language is infinite when a cycle that reads a
+ * symbol goes through states that are both reachable and co-reachable,
+ * i.e. some such edge joins two states of the same strongly connected
+ * component.
+ *
+ * The graph takes the initial and final states from the automaton, not
+ * from the flags of its states, so it matches what FiniteAutomaton
+ * fixed at construction even if a flag is changed later. Other
+ * implementations must not change their states or transitions once
+ * they were analyzed, since the cached graph would not see it.
+ */
+public class FiniteAutomatonAnalyzer implements IFiniteAutomatonAnalyzer {
+    // automata do not override equals, so the graphs are kept by identity
+    private final Map<IFiniteAutomaton, Graph> graphs = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static class Graph {
+        private final BaseState[] states;
+        private final int initialState;
+        private final boolean[] isFinal;
+        private final int[] edgeOffsets;
+        private final int[] edgeTargets;
+        private final String[] edgeSymbols;
+        private final int[] reversedEdgeOffsets;
+        private final int[] reversedEdgeTargets;
+
+        private Graph(IFiniteAutomaton automaton) {
+            states = automaton.getAllStates().toArray(BaseState[]::new);
+
+            var stateIds = new HashMap<BaseState, Integer>();
+
+            for (var i = 0; i < states.length; i++) {
+                stateIds.put(states[i], i);
+            }
+
+            initialState = stateIds.get(automaton.getInitialState());
+            isFinal = new boolean[states.length];
+
+            for (var finalState : automaton.getFinalStates()) {
+                isFinal[stateIds.get(finalState)] = true;
+            }
+
+            var edges = collectEdges(automaton, stateIds);
+
+            edgeOffsets = new int[states.length + 1];
+            edgeTargets = new int[edges.size()];
+            edgeSymbols = new String[edges.size()];
+            reversedEdgeOffsets = new int[states.length + 1];
+            reversedEdgeTargets = new int[edges.size()];
+
+            for (var edge : edges) {
+                edgeOffsets[edge.origin + 1]++;
+                reversedEdgeOffsets[edge.target + 1]++;
+            }
+
+            for (var i = 0; i < states.length; i++) {
+                edgeOffsets[i + 1] += edgeOffsets[i];
+                reversedEdgeOffsets[i + 1] += reversedEdgeOffsets[i];
+            }
+
+            var nextPositions = edgeOffsets.clone();
+            var nextReversedPositions = reversedEdgeOffsets.clone();
+
+            for (var edge : edges) {
+                var position = nextPositions[edge.origin]++;
+
+                edgeTargets[position] = edge.target;
+                edgeSymbols[position] = edge.symbol;
+                reversedEdgeTargets[nextReversedPositions[edge.target]++] = edge.origin;
+            }
+        }
+
+        private static List<Edge> collectEdges(IFiniteAutomaton automaton, Map<BaseState, Integer> stateIds) {
+            var transitionFunction = automaton.getTransitionFunction();
+            var edges = new ArrayList<Edge>();
+
+            for (var state : automaton.getAllStates()) {
+                var origin = stateIds.get(state);
+
+                for (var transitions : transitionFunction.getTransitionsFrom(state).entrySet()) {
+                    var symbol = transitions.getKey().equals(BaseTransition.EPSILON) ? null : transitions.getKey();
+
+                    for (var destination : transitions.getValue()) {
+                        edges.add(new Edge(origin, symbol, stateIds.get(destination)));
+                    }
+                }
+            }
+
+            return edges;
+        }
+
+        private Set<BaseState> statesMarkedOn(boolean[] marks) {
+            var markedStates = new HashSet<BaseState>();
+
+            for (var i = 0; i < states.length; i++) {
+                if (marks[i]) {
+                    markedStates.add(states[i]);
+                }
+            }
+
+            return markedStates;
+        }
+    }
+
+    private static class Edge {
+        private final int origin;
+        private final String symbol;
+        private final int target;
+
+        private Edge(int origin, String symbol, int target) {
+            this.origin = origin;
+            this.symbol = symbol;
+            this.target = target;
+        }
+    }
+
+    private Graph graphOf(IFiniteAutomaton automaton) {
+        return graphs.computeIfAbsent(automaton, Graph::new);
+    }
+
+    @Override
+    public Set<BaseState> getReachableStates(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        var graph = graphOf(automaton);
+
+        return graph.statesMarkedOn(markReachableStates(graph));
+    }
+
+    @Override
+    public Set<BaseState> getCoReachableStates(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        var graph = graphOf(automaton);
+
+        return graph.statesMarkedOn(markCoReachableStates(graph));
+    }
+
+    @Override
+    public boolean acceptsNothing(IFiniteAutomaton automaton) {
+        return findShortestAcceptedSentence(automaton).isEmpty();
+    }
+
+    @Override
+    public boolean acceptsFinitelyManySentences(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        var graph = graphOf(automaton);
+        var isUseful = markReachableStates(graph);
+        var isCoReachable = markCoReachableStates(graph);
+
+        for (var i = 0; i < isUseful.length; i++) {
+            isUseful[i] &= isCoReachable[i];
+        }
+
+        var components = findStronglyConnectedComponents(graph, isUseful);
+
+        for (var origin = 0; origin < graph.states.length; origin++) {
+            if (!isUseful[origin]) {
+                continue;
+            }
+
+            for (var i = graph.edgeOffsets[origin]; i < graph.edgeOffsets[origin + 1]; i++) {
+                var target = graph.edgeTargets[i];
+
+                if (graph.edgeSymbols[i] != null && isUseful[target] && components[origin] == components[target]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Optional<List<String>> findShortestAcceptedSentence(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        var graph = graphOf(automaton);
+        var stateCount = graph.states.length;
+        var distances = new int[stateCount];
+        var previousEdges = new int[stateCount];
+        var previousStates = new int[stateCount];
+        var statesToVisit = new ArrayDeque<Integer>();
+
+        Arrays.fill(distances, Integer.MAX_VALUE);
+
+        distances[graph.initialState] = 0;
+        previousStates[graph.initialState] = -1;
+        statesToVisit.add(graph.initialState);
+
+        while (!statesToVisit.isEmpty()) {
+            var state = statesToVisit.poll();
+
+            if (graph.isFinal[state]) {
+                return Optional.of(rebuildSentenceEndingAt(state, graph, previousStates, previousEdges));
+            }
+
+            for (var i = graph.edgeOffsets[state]; i < graph.edgeOffsets[state + 1]; i++) {
+                var target = graph.edgeTargets[i];
+                var isEpsilon = graph.edgeSymbols[i] == null;
+                var distance = distances[state] + (isEpsilon ? 0 : 1);
+
+                if (distance < distances[target]) {
+                    distances[target] = distance;
+                    previousStates[target] = state;
+                    previousEdges[target] = i;
+
+                    // epsilon edges keep the distance, so they go to the front
+                    if (isEpsilon) {
+                        statesToVisit.addFirst(target);
+                    } else {
+                        statesToVisit.addLast(target);
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static List<String> rebuildSentenceEndingAt(
+            int state,
+            Graph graph,
+            int[] previousStates,
+            int[] previousEdges) {
+        var sentence = new ArrayList<String>();
+
+        for (var current = state; previousStates[current] != -1; current = previousStates[current]) {
+            var symbol = graph.edgeSymbols[previousEdges[current]];
+
+            if (symbol != null) {
+                sentence.add(symbol);
+            }
+        }
+
+        Collections.reverse(sentence);
+
+        return sentence;
+    }
+
+    private static boolean[] markReachableStates(Graph graph) {
+        var marks = new boolean[graph.states.length];
+
+        marks[graph.initialState] = true;
+        markFrom(List.of(graph.initialState), graph.edgeOffsets, graph.edgeTargets, marks);
+
+        return marks;
+    }
+
+    private static boolean[] markCoReachableStates(Graph graph) {
+        var marks = new boolean[graph.states.length];
+        var finalStates = new ArrayList<Integer>();
+
+        for (var i = 0; i < graph.states.length; i++) {
+            if (graph.isFinal[i]) {
+                marks[i] = true;
+                finalStates.add(i);
+            }
+        }
+
+        markFrom(finalStates, graph.reversedEdgeOffsets, graph.reversedEdgeTargets, marks);
+
+        return marks;
+    }
+
+    private static void markFrom(List<Integer> startStates, int[] offsets, int[] targets, boolean[] marks) {
+        var statesToVisit = new ArrayDeque<Integer>(startStates);
+
+        while (!statesToVisit.isEmpty()) {
+            var state = statesToVisit.poll();
+
+            for (var i = offsets[state]; i < offsets[state + 1]; i++) {
+                if (!marks[targets[i]]) {
+                    marks[targets[i]] = true;
+                    statesToVisit.add(targets[i]);
+                }
+            }
+        }
+    }
+
+    /*
+     * Iterative Tarjan's algorithm restricted to the given states, so
+     * long chains of states cannot overflow the stack
+     */
+    private static int[] findStronglyConnectedComponents(Graph graph, boolean[] isIncluded) {
+        var stateCount = graph.states.length;
+        var components = new int[stateCount];
+        var indexes = new int[stateCount];
+        var lowLinks = new int[stateCount];
+        var isOnStack = new boolean[stateCount];
+        var nextEdges = new int[stateCount];
+        var componentStack = new int[stateCount];
+        var callStack = new int[stateCount];
+        var componentStackSize = 0;
+        var nextIndex = 1;
+        var componentCount = 0;
+
+        for (var root = 0; root < stateCount; root++) {
+            if (!isIncluded[root] || indexes[root] != 0) {
+                continue;
+            }
+
+            var callStackSize = 0;
+
+            callStack[callStackSize++] = root;
+            indexes[root] = lowLinks[root] = nextIndex++;
+            nextEdges[root] = graph.edgeOffsets[root];
+            componentStack[componentStackSize++] = root;
+            isOnStack[root] = true;
+
+            while (callStackSize > 0) {
+                var state = callStack[callStackSize - 1];
+
+                if (nextEdges[state] < graph.edgeOffsets[state + 1]) {
+                    var target = graph.edgeTargets[nextEdges[state]++];
+
+                    if (!isIncluded[target]) {
+                        continue;
+                    }
+
+                    if (indexes[target] == 0) {
+                        indexes[target] = lowLinks[target] = nextIndex++;
+                        nextEdges[target] = graph.edgeOffsets[target];
+                        componentStack[componentStackSize++] = target;
+                        isOnStack[target] = true;
+                        callStack[callStackSize++] = target;
+                    } else if (isOnStack[target]) {
+                        lowLinks[state] = Math.min(lowLinks[state], indexes[target]);
+                    }
+
+                    continue;
+                }
+
+                callStackSize--;
+
+                if (callStackSize > 0) {
+                    var caller = callStack[callStackSize - 1];
+                    lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[state]);
+                }
+
+                if (lowLinks[state] == indexes[state]) {
+                    int member;
+
+                    do {
+                        member = componentStack[--componentStackSize];
+                        isOnStack[member] = false;
+                        components[member] = componentCount;
+                    } while (member != state);
+
+                    componentCount++;
+                }
+            }
+        }
+
+        return components;
+    }
+}
@@ -0,0 +1,282 @@
+package automata;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonComparator;
+import automata.abstractions.LanguageComparisonResult;
+
+/*
+ * Compares languages without building the deterministic automata.
+ *
+ * Inclusion of A in B is a breadth-first search over pairs (p, S), p a
+ * state of A and S the set of states B can be in after the same
+ * sentence, until p is final and S has no final state. A pair (p, S) is
+ * not queued if some (p, S') with S' inside S was already queued, since
+ * any sentence that breaks the inclusion from (p, S) also breaks it from
+ * (p, S'). Only the minimal sets of each state are kept to compare with,
+ * so a queued set replaces those that contain it. The search is
+ * breadth-first, so the counterexample is one of the shortest.
+ *
+ * Equivalence of two deterministic automata uses Hopcroft and Karp's
+ * union-find, which is almost linear; only when they differ are the
+ * inclusions searched for the shortest counterexample.
+ */
+public class FiniteAutomatonComparator implements IFiniteAutomatonComparator {
+    private static class Pair {
+        private final int state;
+        private final StateSet otherStates;
+        private final Pair previous;
+        private final int symbolId;
+
+        private Pair(int state, StateSet otherStates, Pair previous, int symbolId) {
+            this.state = state;
+            this.otherStates = otherStates;
+            this.previous = previous;
+            this.symbolId = symbolId;
+        }
+    }
+
+    @Override
+    public LanguageComparisonResult checkEquivalence(IFiniteAutomaton first, IFiniteAutomaton second) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(second);
+
+        if (first.isDeterministic() && second.isDeterministic() && areEquivalentDeterministicAutomata(first, second)) {
+            return LanguageComparisonResult.holding();
+        }
+
+        var firstNotInSecond = findCounterexampleToInclusion(first, second);
+        var secondNotInFirst = findCounterexampleToInclusion(second, first);
+
+        if (firstNotInSecond.isEmpty() && secondNotInFirst.isEmpty()) {
+            return LanguageComparisonResult.holding();
+        }
+
+        if (firstNotInSecond.isEmpty()) {
+            return LanguageComparisonResult.brokenBy(secondNotInFirst.get());
+        }
+
+        if (secondNotInFirst.isEmpty() || firstNotInSecond.get().size() <= secondNotInFirst.get().size()) {
+            return LanguageComparisonResult.brokenBy(firstNotInSecond.get());
+        }
+
+        return LanguageComparisonResult.brokenBy(secondNotInFirst.get());
+    }
+
+    @Override
+    public LanguageComparisonResult checkInclusion(IFiniteAutomaton first, IFiniteAutomaton second) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(second);
+
+        return findCounterexampleToInclusion(first, second)
+                .map(LanguageComparisonResult::brokenBy)
+                .orElseGet(LanguageComparisonResult::holding);
+    }
+
+    private static Optional<List<String>> findCounterexampleToInclusion(
+            IFiniteAutomaton included,
+            IFiniteAutomaton including) {
+        var includedIndex = new IndexedAutomaton(included);
+        var includingIndex = new IndexedAutomaton(including);
+        var includingSymbolIds = mapSymbolIds(includedIndex.getSymbolTable(), includingIndex.getSymbolTable());
+        var seenSets = createSeenSetsOfEachState(includedIndex.getStateCount());
+        var pairsToVisit = new ArrayDeque<Pair>();
+        var destinations = includedIndex.createEmptyStateSet();
+
+        var initialStates = includedIndex.createInitialStateSet();
+        var includingInitialStates = includingIndex.createInitialStateSet();
+
+        for (var state = initialStates.nextStateId(0); state != -1; state = initialStates.nextStateId(state + 1)) {
+            if (addIfNotSubsumed(state, includingInitialStates, seenSets)) {
+                pairsToVisit.add(new Pair(state, includingInitialStates, null, SymbolTable.NO_ID));
+            }
+        }
+
+        while (!pairsToVisit.isEmpty()) {
+            var pair = pairsToVisit.poll();
+
+            if (includedIndex.isAFinalState(pair.state) && !includingIndex.containsAFinalState(pair.otherStates)) {
+                return Optional.of(rebuildSentenceEndingAt(pair, includedIndex.getSymbolTable()));
+            }
+
+            for (var symbolId = 0; symbolId < includedIndex.getSymbolCount(); symbolId++) {
+                includedIndex.move(pair.state, symbolId, destinations);
+
+                if (destinations.isEmpty()) {
+                    continue;
+                }
+
+                var otherDestinations = includingIndex.createEmptyStateSet();
+
+                if (includingSymbolIds[symbolId] != SymbolTable.NO_ID) {
+                    includingIndex.move(pair.otherStates, includingSymbolIds[symbolId], otherDestinations);
+                }
+
+                for (var state = destinations.nextStateId(0); state != -1; state = destinations.nextStateId(state + 1)) {
+                    if (addIfNotSubsumed(state, otherDestinations, seenSets)) {
+                        pairsToVisit.add(new Pair(state, otherDestinations, pair, symbolId));
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static List<List<StateSet>> createSeenSetsOfEachState(int stateCount) {
+        var seenSets = new ArrayList<List<StateSet>>(stateCount);
+
+        for (var i = 0; i < stateCount; i++) {
+            seenSets.add(new ArrayList<>());
+        }
+
+        return seenSets;
+    }
+
+    /*
+     * Keeps the sets seen with each state an antichain: the new set is
+     * dropped if a seen set is inside it, and otherwise the seen sets that
+     * contain it are removed before it is added
+     */
+    private static boolean addIfNotSubsumed(int state, StateSet otherStates, List<List<StateSet>> seenSets) {
+        var seenSetsOfTheState = seenSets.get(state);
+
+        for (var seenSet : seenSetsOfTheState) {
+            if (seenSet.isSubsetOf(otherStates)) {
+                return false;
+            }
+        }
+
+        seenSetsOfTheState.removeIf(otherStates::isSubsetOf);
+        seenSetsOfTheState.add(otherStates);
+
+        return true;
+    }
+
+    private static int[] mapSymbolIds(SymbolTable from, SymbolTable to) {
+        var ids = new int[from.size()];
+
+        for (var symbolId = 0; symbolId < ids.length; symbolId++) {
+            ids[symbolId] = to.idOf(from.symbolOf(symbolId));
+        }
+
+        return ids;
+    }
+
+    private static List<String> rebuildSentenceEndingAt(Pair pair, SymbolTable symbolTable) {
+        var sentence = new ArrayList<String>();
+
+        for (var current = pair; current.previous != null; current = current.previous) {
+            sentence.add(symbolTable.symbolOf(current.symbolId));
+        }
+
+        Collections.reverse(sentence);
+
+        return sentence;
+    }
+
+    /*
+     * The states of both automata and a dead state for each one are
+     * numbered together; starting from the initial states, each pair of
+     * states that should be equivalent is merged and its successors are
+     * compared, failing as soon as a final and a non final state merge
+     */
+    private static boolean areEquivalentDeterministicAutomata(IFiniteAutomaton first, IFiniteAutomaton second) {
+        var firstCompiled = new CompiledDeterministicAutomaton(first);
+        var secondCompiled = new CompiledDeterministicAutomaton(second);
+
+        var alphabet = new HashSet<String>(first.getAlphabet());
+        alphabet.addAll(second.getAlphabet());
+
+        var symbolTable = new SymbolTable(alphabet);
+        var firstSymbolIds = mapSymbolIds(symbolTable, firstCompiled.getSymbolTable());
+        var secondSymbolIds = mapSymbolIds(symbolTable, secondCompiled.getSymbolTable());
+
+        var firstDeadState = firstCompiled.getStateCount();
+        var secondOffset = firstDeadState + 1;
+        var secondDeadState = secondOffset + secondCompiled.getStateCount();
+        var stateCount = secondDeadState + 1;
+
+        var accepting = new boolean[stateCount];
+        var next = new int[stateCount * symbolTable.size()];
+
+        for (var state = 0; state < stateCount; state++) {
+            var isFromFirst = state < secondOffset;
+            var compiled = isFromFirst ? firstCompiled : secondCompiled;
+            var symbolIds = isFromFirst ? firstSymbolIds : secondSymbolIds;
+            var offset = isFromFirst ? 0 : secondOffset;
+            var deadState = isFromFirst ? firstDeadState : secondDeadState;
+            var localState = state - offset;
+
+            accepting[state] = state != deadState && compiled.isAcceptingStateId(localState);
+
+            for (var symbolId = 0; symbolId < symbolTable.size(); symbolId++) {
+                var localNext = state == deadState || symbolIds[symbolId] == SymbolTable.NO_ID
+                        ? CompiledDeterministicAutomaton.NO_STATE
+                        : compiled.nextStateOf(localState, symbolIds[symbolId]);
+
+                next[state * symbolTable.size() + symbolId] = localNext == CompiledDeterministicAutomaton.NO_STATE
+                        ? deadState
+                        : localNext + offset;
+            }
+        }
+
+        var representatives = new int[stateCount];
+
+        for (var state = 0; state < stateCount; state++) {
+            representatives[state] = state;
+        }
+
+        var pairsToVisit = new ArrayDeque<int[]>();
+        var firstInitial = firstCompiled.getInitialStateId();
+        var secondInitial = secondCompiled.getInitialStateId() + secondOffset;
+
+        if (accepting[firstInitial] != accepting[secondInitial]) {
+            return false;
+        }
+
+        representatives[findRepresentative(representatives, firstInitial)] = findRepresentative(
+                representatives, secondInitial);
+        pairsToVisit.add(new int[] { firstInitial, secondInitial });
+
+        while (!pairsToVisit.isEmpty()) {
+            var pair = pairsToVisit.poll();
+
+            for (var symbolId = 0; symbolId < symbolTable.size(); symbolId++) {
+                var firstNext = next[pair[0] * symbolTable.size() + symbolId];
+                var secondNext = next[pair[1] * symbolTable.size() + symbolId];
+                var firstRepresentative = findRepresentative(representatives, firstNext);
+                var secondRepresentative = findRepresentative(representatives, secondNext);
+
+                if (firstRepresentative == secondRepresentative) {
+                    continue;
+                }
+
+                if (accepting[firstNext] != accepting[secondNext]) {
+                    return false;
+                }
+
+                representatives[firstRepresentative] = secondRepresentative;
+                pairsToVisit.add(new int[] { firstNext, secondNext });
+            }
+        }
+
+        return true;
+    }
+
+    private static int findRepresentative(int[] representatives, int state) {
+        while (representatives[state] != state) {
+            representatives[state] = representatives[representatives[state]];
+            state = representatives[state];
+        }
+
+        return state;
+    }
+}
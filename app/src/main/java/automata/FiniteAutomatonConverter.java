@@ -1,10 +1,9 @@
 package automata;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
@@ -12,19 +11,47 @@ import java.util.Set;
 
 import automata.abstractions.BaseState;
 import automata.abstractions.BaseTransition;
+import automata.abstractions.ConversionLimits;
+import automata.abstractions.ConversionResult;
+import automata.abstractions.ConversionStatistics;
+import automata.abstractions.ConversionStatus;
+import automata.abstractions.IConversionListener;
 import automata.abstractions.IFiniteAutomaton;
 import automata.abstractions.IFiniteAutomatonConverter;
-import automata.abstractions.ITransitionFunction;
 
+/*
+ * Powerset construction: each state of the deterministic automaton is a
+ * set of states of the non deterministic one, kept as a StateSet.
+ *
+ * Discovered sets are indexed by a hash map, so checking if a set was
+ * already seen is O(1), and a set is only queued the first time it is
+ * discovered.
+ *
+ * The limits are checked before each set is explored, so a conversion
+ * that exceeds one stops right away and reports how far it got. A
+ * listener can also follow the progress: it gets the statistics at most
+ * once per reporting interval, and once more when the conversion ends.
+ */
 public class FiniteAutomatonConverter implements IFiniteAutomatonConverter {
-    private IFiniteAutomaton automatonToBeConverted;
-    private ITransitionFunction automatonTransitionFunction;
-    private Queue<Set<BaseState>> statesToWalkThrought;
-    private List<Set<BaseState>> statesHistory;
-    private Map<Set<BaseState>, BaseState> destinationsAndCorrespondingStates;
+    // rough sizes of a discovered set with its map entry and state, and of a transition
+    private static final long ESTIMATED_STATE_OVERHEAD_IN_BYTES = 160;
+    private static final long ESTIMATED_TRANSITION_SIZE_IN_BYTES = 96;
+
+    private IFiniteAutomaton sourceAutomaton;
+    private IndexedAutomaton automatonToBeConverted;
+    private Queue<StateSet> statesToWalkThrought;
+    private Map<StateSet, BaseState> destinationsAndCorrespondingStates;
     private Set<BaseTransition> newAutomatonTransitions;
+    private StateSet destinationsBuffer;
+    private ConversionLimits limits;
+    private IConversionListener listener;
+    private long reportingIntervalInNanos;
+    private long lastReportTimeInNanos;
+    private long startTimeInNanos;
+    private long identifiersLength;
+    private int largestSubsetSize;
 
-    private static void validateAutomaton(IFiniteAutomaton automaton) {
+    static void validateAutomaton(IFiniteAutomaton automaton) {
         Objects.requireNonNull(automaton);
 
         if (automaton.isDeterministic()) {
@@ -32,97 +59,211 @@ public class FiniteAutomatonConverter implements IFiniteAutomatonConverter {
         }
     }
 
+    /*
+     * The listener is called on the converting thread, so
+     * it should return quickly
+     */
+    public void setConversionListener(IConversionListener listener, Duration reportingInterval) {
+        Objects.requireNonNull(listener);
+        Objects.requireNonNull(reportingInterval);
+
+        if (reportingInterval.isNegative()) {
+            throw new IllegalArgumentException("The reporting interval cannot be negative");
+        }
+
+        this.listener = listener;
+        this.reportingIntervalInNanos = reportingInterval.toNanos();
+    }
+
+    public void removeConversionListener() {
+        listener = null;
+    }
+
     @Override
     public IFiniteAutomaton convertNonDeterministicAutomatonToADeterministicOne(
             IFiniteAutomaton automaton) {
+        return convertNonDeterministicAutomatonToADeterministicOne(automaton, ConversionLimits.NONE)
+                .getAutomaton()
+                .orElseThrow();
+    }
+
+    public ConversionResult convertNonDeterministicAutomatonToADeterministicOne(
+            IFiniteAutomaton automaton,
+            ConversionLimits limits) {
         validateAutomaton(automaton);
+        Objects.requireNonNull(limits);
 
-        automatonToBeConverted = automaton;
-        automatonTransitionFunction = automaton.getTransitionFunction();
+        this.limits = limits;
+        startTimeInNanos = System.nanoTime();
+        lastReportTimeInNanos = startTimeInNanos;
+        identifiersLength = 0;
+        largestSubsetSize = 0;
 
-        statesToWalkThrought = new LinkedList<>();
-        statesHistory = new ArrayList<>();
+        sourceAutomaton = automaton;
+        automatonToBeConverted = new IndexedAutomaton(automaton);
+
+        statesToWalkThrought = new ArrayDeque<>();
         newAutomatonTransitions = new HashSet<>();
         destinationsAndCorrespondingStates = new HashMap<>();
+        destinationsBuffer = automatonToBeConverted.createEmptyStateSet();
 
         initStatesToWalkThroughtAndDestinationsMappings();
-        walkThroughtStatesFillingTheTransitionSet();
 
-        return new FiniteAutomaton(newAutomatonTransitions);
+        var status = walkThroughtStatesFillingTheTransitionSet();
+        var result = createResult(status);
+
+        releaseConversionState();
+
+        return result;
     }
 
     private void initStatesToWalkThroughtAndDestinationsMappings() {
-        var initialState = automatonToBeConverted.getInitialState();
-        var initialStateSet = Set.of(initialState);
+        var initialStateSet = automatonToBeConverted.createInitialStateSet();
+        var initialState = automatonToBeConverted.createStateRepresentingTheInitialStates();
 
         statesToWalkThrought.add(initialStateSet);
         destinationsAndCorrespondingStates.put(initialStateSet, initialState);
+        registerDiscoveredSet(initialStateSet, initialState);
     }
 
-    private void walkThroughtStatesFillingTheTransitionSet() {
-        while (!statesToWalkThrought.isEmpty()) {
-            iterateOverAlphabetAddingNewStatesAndTransitions();
+    private ConversionStatus walkThroughtStatesFillingTheTransitionSet() {
+        var status = checkLimits();
 
-            statesHistory.add(statesToWalkThrought.poll());
+        while (status == ConversionStatus.COMPLETED && !statesToWalkThrought.isEmpty()) {
+            iterateOverAlphabetAddingNewStatesAndTransitions(statesToWalkThrought.poll());
+            reportProgressIfTheIntervalHasPassed();
+            status = checkLimits();
         }
+
+        return status;
     }
 
-    private void iterateOverAlphabetAddingNewStatesAndTransitions() {
-        var alphabet = automatonToBeConverted.getAlphabet();
+    private ConversionStatus checkLimits() {
+        if (destinationsAndCorrespondingStates.size() > limits.getMaximumStates()) {
+            return ConversionStatus.STATE_LIMIT_EXCEEDED;
+        }
+
+        if (estimateMemoryInBytes() > limits.getMaximumMemoryInBytes()) {
+            return ConversionStatus.MEMORY_LIMIT_EXCEEDED;
+        }
 
-        for (var symbol : alphabet) {
-            var newStateSet = createStateSetContainingDestinationsForQueueHeadWithSymbol(symbol);
+        if (limits.hasTimeLimit() && elapsedTimeInNanos() > limits.getTimeLimit().toNanos()) {
+            return ConversionStatus.TIME_LIMIT_EXCEEDED;
+        }
 
-            if (!newStateSet.isEmpty()) {
-                if (!statesHistory.contains(newStateSet)) {
-                    statesToWalkThrought.add(newStateSet);
-                }
+        return ConversionStatus.COMPLETED;
+    }
 
-                createAndAddTransitionToNewAutomatonTransitions(symbol, newStateSet);
-            }
+    private void reportProgressIfTheIntervalHasPassed() {
+        if (listener == null) {
+            return;
         }
+
+        var now = System.nanoTime();
+
+        if (now - lastReportTimeInNanos >= reportingIntervalInNanos) {
+            lastReportTimeInNanos = now;
+            listener.onProgress(createStatistics());
+        }
+    }
+
+    private long estimateMemoryInBytes() {
+        var stateSizeInBytes = ESTIMATED_STATE_OVERHEAD_IN_BYTES
+                + 8L * StateSet.wordsNeededFor(automatonToBeConverted.getStateCount());
+
+        return destinationsAndCorrespondingStates.size() * stateSizeInBytes
+                + 2 * identifiersLength
+                + newAutomatonTransitions.size() * ESTIMATED_TRANSITION_SIZE_IN_BYTES;
+    }
+
+    private long elapsedTimeInNanos() {
+        return System.nanoTime() - startTimeInNanos;
     }
 
-    private Set<BaseState> createStateSetContainingDestinationsForQueueHeadWithSymbol(
-            String symbol) {
-        var newStateSet = new HashSet<BaseState>();
+    private void iterateOverAlphabetAddingNewStatesAndTransitions(StateSet stateSet) {
+        var origin = destinationsAndCorrespondingStates.get(stateSet);
 
-        var queueHead = statesToWalkThrought.peek();
+        for (var symbolId = 0; symbolId < automatonToBeConverted.getSymbolCount(); symbolId++) {
+            automatonToBeConverted.move(stateSet, symbolId, destinationsBuffer);
 
-        for (var state : queueHead) {
-            var destinations = automatonTransitionFunction.whereToGoWith(state, symbol);
+            if (!destinationsBuffer.isEmpty()) {
+                var destination = getOrDiscoverStateFor(destinationsBuffer);
+                var symbol = automatonToBeConverted.getSymbolById(symbolId);
 
-            if (destinations.size() != 0) {
-                newStateSet.addAll(destinations);
+                newAutomatonTransitions.add(new Transition(origin, symbol, destination));
             }
         }
+    }
+
+    /*
+     * The destinations buffer is reused for every move, so
+     * it is only copied when it holds a new set
+     */
+    private BaseState getOrDiscoverStateFor(StateSet destinations) {
+        var existingState = destinationsAndCorrespondingStates.get(destinations);
+
+        if (existingState != null) {
+            return existingState;
+        }
+
+        var newStateSet = destinations.copy();
+        var newState = automatonToBeConverted.createStateRepresenting(newStateSet);
+
+        destinationsAndCorrespondingStates.put(newStateSet, newState);
+        statesToWalkThrought.add(newStateSet);
+        registerDiscoveredSet(newStateSet, newState);
+
+        return newState;
+    }
 
-        return newStateSet;
+    private void registerDiscoveredSet(StateSet set, BaseState state) {
+        identifiersLength += state.getIdentifier().length();
+        largestSubsetSize = Math.max(largestSubsetSize, set.size());
     }
 
-    private void createAndAddTransitionToNewAutomatonTransitions(
-            String symbol,
-            Set<BaseState> newStateSet) {
-        var queueHead = statesToWalkThrought.peek();
-        var origin = destinationsAndCorrespondingStates.get(queueHead);
+    private ConversionStatistics createStatistics() {
+        return new ConversionStatistics(
+                destinationsAndCorrespondingStates.size(),
+                statesToWalkThrought.size(),
+                newAutomatonTransitions.size(),
+                largestSubsetSize,
+                estimateMemoryInBytes(),
+                Duration.ofNanos(elapsedTimeInNanos()));
+    }
 
-        var destinationIdentifiers = newStateSet.stream()
-                .map(s -> s.getIdentifier())
-                .toArray(String[]::new);
+    private ConversionResult createResult(ConversionStatus status) {
+        var statistics = createStatistics();
 
-        var newStateIdentifier = destinationIdentifiers.length > 1
-                ? "[" + String.join(", ", destinationIdentifiers) + "]"
-                : String.join(", ", destinationIdentifiers);
+        if (listener != null) {
+            listener.onProgress(statistics);
+        }
 
-        var destination = new State(newStateIdentifier);
+        if (status == ConversionStatus.COMPLETED) {
+            var deterministicAutomaton = new FiniteAutomaton(
+                    newAutomatonTransitions,
+                    new HashSet<>(destinationsAndCorrespondingStates.values()),
+                    sourceAutomaton.getAlphabet());
 
-        if (newStateSet.stream().anyMatch(s -> s.isAFinalState())) {
-            destination.setIfIsAFinalState(true);
+            return new ConversionResult(status, deterministicAutomaton, statistics);
         }
 
-        var transition = new Transition(origin, symbol, destination);
+        var fallbackAutomaton = limits.fallsBackToLazyAutomaton()
+                ? new LazyDeterministicAutomaton(sourceAutomaton)
+                : null;
+
+        return new ConversionResult(status, fallbackAutomaton, statistics);
+    }
 
-        destinationsAndCorrespondingStates.put(newStateSet, destination);
-        newAutomatonTransitions.add(transition);
+    /*
+     * A conversion that exceeded a limit may hold a lot of
+     * memory, so nothing is kept after it returns
+     */
+    private void releaseConversionState() {
+        sourceAutomaton = null;
+        automatonToBeConverted = null;
+        statesToWalkThrought = null;
+        destinationsAndCorrespondingStates = null;
+        newAutomatonTransitions = null;
+        destinationsBuffer = null;
     }
 }
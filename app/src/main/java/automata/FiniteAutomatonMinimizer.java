@@ -0,0 +1,339 @@
+package automata;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonMinimizer;
+
+/*
+ * Hopcroft's partition refinement over the compiled int table of a
+ * deterministic automaton, in O(n.k.log n) for n states and k symbols.
+ *
+ * Unreachable states are dropped first and a dead state is added so every
+ * state has a transition with every symbol. The states start split into
+ * final and non final blocks, and each block taken from the worklist
+ * splits the blocks that have only some states going into it. The block
+ * of the dead state is dropped from the result, unless the initial state
+ * is in it: then the language is empty and the result is the initial
+ * state alone. The result keeps the whole alphabet of the input, even the
+ * symbols that only lead to the dead state, and can have no transitions.
+ *
+ * Each state of the minimal automaton is named after the first state of
+ * its block, and the block of the initial state is named after it.
+ */
+public class FiniteAutomatonMinimizer implements IFiniteAutomatonMinimizer {
+    private static class Minimization {
+        private final CompiledDeterministicAutomaton compiledAutomaton;
+        private final int symbolCount;
+        private int[] reachableStates;
+        private int stateCount;
+        private int deadState;
+        private int[] table;
+        private int[] inverseOffsets;
+        private int[] inverseOrigins;
+        private int[] elements;
+        private int[] locations;
+        private int[] blockOf;
+        private int[] blockStarts;
+        private int[] blockEnds;
+        private int[] markedCounts;
+        private int blockCount;
+        private int[] worklist;
+        private int worklistSize;
+        private int[] touchedBlocks;
+        private int touchedBlocksCount;
+
+        private Minimization(CompiledDeterministicAutomaton compiledAutomaton) {
+            this.compiledAutomaton = compiledAutomaton;
+            this.symbolCount = compiledAutomaton.getSymbolCount();
+        }
+    }
+
+    @Override
+    public IFiniteAutomaton minimize(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        if (!automaton.isDeterministic()) {
+            throw new IllegalArgumentException("The automaton to be minimized must be a deterministic automaton");
+        }
+
+        var compiledAutomaton = automaton instanceof CompiledDeterministicAutomaton
+                ? (CompiledDeterministicAutomaton) automaton
+                : new CompiledDeterministicAutomaton(automaton);
+
+        var minimization = new Minimization(compiledAutomaton);
+
+        numberReachableStatesAndCompleteTheTable(minimization);
+        createInverseTransitions(minimization);
+        createInitialPartition(minimization);
+        refinePartition(minimization);
+
+        return createMinimalAutomaton(minimization);
+    }
+
+    private static void numberReachableStatesAndCompleteTheTable(Minimization m) {
+        var compiled = m.compiledAutomaton;
+        var newIds = new int[compiled.getStateCount()];
+        var queue = new int[compiled.getStateCount()];
+        var queueEnd = 0;
+
+        Arrays.fill(newIds, -1);
+
+        newIds[compiled.getInitialStateId()] = 0;
+        queue[queueEnd++] = compiled.getInitialStateId();
+
+        for (var head = 0; head < queueEnd; head++) {
+            for (var symbolId = 0; symbolId < m.symbolCount; symbolId++) {
+                var next = compiled.nextStateOf(queue[head], symbolId);
+
+                if (next != CompiledDeterministicAutomaton.NO_STATE && newIds[next] == -1) {
+                    newIds[next] = queueEnd;
+                    queue[queueEnd++] = next;
+                }
+            }
+        }
+
+        m.reachableStates = Arrays.copyOf(queue, queueEnd);
+        m.deadState = queueEnd;
+        m.stateCount = queueEnd + 1;
+        m.table = new int[m.stateCount * m.symbolCount];
+
+        for (var state = 0; state < m.stateCount; state++) {
+            for (var symbolId = 0; symbolId < m.symbolCount; symbolId++) {
+                var next = state == m.deadState
+                        ? CompiledDeterministicAutomaton.NO_STATE
+                        : compiled.nextStateOf(m.reachableStates[state], symbolId);
+
+                m.table[state * m.symbolCount + symbolId] = next == CompiledDeterministicAutomaton.NO_STATE
+                        ? m.deadState
+                        : newIds[next];
+            }
+        }
+    }
+
+    /*
+     * The origins of the transitions reaching state t with symbol a are
+     * inverseOrigins[inverseOffsets[a * stateCount + t] .. inverseOffsets[a * stateCount + t + 1]]
+     */
+    private static void createInverseTransitions(Minimization m) {
+        var cellCount = m.stateCount * m.symbolCount;
+
+        m.inverseOffsets = new int[cellCount + 1];
+        m.inverseOrigins = new int[cellCount];
+
+        for (var state = 0; state < m.stateCount; state++) {
+            for (var symbolId = 0; symbolId < m.symbolCount; symbolId++) {
+                var target = m.table[state * m.symbolCount + symbolId];
+                m.inverseOffsets[symbolId * m.stateCount + target + 1]++;
+            }
+        }
+
+        for (var i = 0; i < cellCount; i++) {
+            m.inverseOffsets[i + 1] += m.inverseOffsets[i];
+        }
+
+        var nextPositions = Arrays.copyOf(m.inverseOffsets, cellCount);
+
+        for (var state = 0; state < m.stateCount; state++) {
+            for (var symbolId = 0; symbolId < m.symbolCount; symbolId++) {
+                var target = m.table[state * m.symbolCount + symbolId];
+                m.inverseOrigins[nextPositions[symbolId * m.stateCount + target]++] = state;
+            }
+        }
+    }
+
+    /*
+     * The states of each block are contiguous on elements, and the
+     * marked states of a block are moved to the start of its range
+     */
+    private static void createInitialPartition(Minimization m) {
+        m.elements = new int[m.stateCount];
+        m.locations = new int[m.stateCount];
+        m.blockOf = new int[m.stateCount];
+        m.blockStarts = new int[m.stateCount];
+        m.blockEnds = new int[m.stateCount];
+        m.markedCounts = new int[m.stateCount];
+        m.worklist = new int[m.stateCount];
+        m.touchedBlocks = new int[m.stateCount];
+
+        var finalStatesCount = 0;
+
+        for (var state = 0; state < m.stateCount; state++) {
+            if (isFinal(m, state)) {
+                m.elements[finalStatesCount++] = state;
+            }
+        }
+
+        var position = finalStatesCount;
+
+        for (var state = 0; state < m.stateCount; state++) {
+            if (!isFinal(m, state)) {
+                m.elements[position++] = state;
+            }
+        }
+
+        // the dead state is never final, so the non final block always exists
+        if (finalStatesCount == 0) {
+            addBlock(m, 0, m.stateCount);
+            return;
+        }
+
+        addBlock(m, 0, finalStatesCount);
+        addBlock(m, finalStatesCount, m.stateCount);
+
+        m.worklist[m.worklistSize++] = finalStatesCount <= m.stateCount - finalStatesCount ? 0 : 1;
+    }
+
+    private static boolean isFinal(Minimization m, int state) {
+        return state != m.deadState && m.compiledAutomaton.isAcceptingStateId(m.reachableStates[state]);
+    }
+
+    private static int addBlock(Minimization m, int start, int end) {
+        var block = m.blockCount++;
+
+        m.blockStarts[block] = start;
+        m.blockEnds[block] = end;
+
+        for (var i = start; i < end; i++) {
+            m.blockOf[m.elements[i]] = block;
+            m.locations[m.elements[i]] = i;
+        }
+
+        return block;
+    }
+
+    private static void refinePartition(Minimization m) {
+        var splitter = new int[m.stateCount];
+
+        while (m.worklistSize > 0) {
+            var splitterBlock = m.worklist[--m.worklistSize];
+            var splitterSize = m.blockEnds[splitterBlock] - m.blockStarts[splitterBlock];
+
+            // the splitter block itself can be split while it is used
+            System.arraycopy(m.elements, m.blockStarts[splitterBlock], splitter, 0, splitterSize);
+
+            for (var symbolId = 0; symbolId < m.symbolCount; symbolId++) {
+                for (var i = 0; i < splitterSize; i++) {
+                    var cell = symbolId * m.stateCount + splitter[i];
+
+                    for (var j = m.inverseOffsets[cell]; j < m.inverseOffsets[cell + 1]; j++) {
+                        mark(m, m.inverseOrigins[j]);
+                    }
+                }
+
+                while (m.touchedBlocksCount > 0) {
+                    split(m, m.touchedBlocks[--m.touchedBlocksCount]);
+                }
+            }
+        }
+    }
+
+    private static void mark(Minimization m, int state) {
+        var block = m.blockOf[state];
+        var firstUnmarked = m.blockStarts[block] + m.markedCounts[block];
+        var location = m.locations[state];
+
+        if (location < firstUnmarked) {
+            return;
+        }
+
+        var unmarkedState = m.elements[firstUnmarked];
+
+        m.elements[firstUnmarked] = state;
+        m.locations[state] = firstUnmarked;
+        m.elements[location] = unmarkedState;
+        m.locations[unmarkedState] = location;
+
+        if (m.markedCounts[block]++ == 0) {
+            m.touchedBlocks[m.touchedBlocksCount++] = block;
+        }
+    }
+
+    /*
+     * The smaller part becomes the new block and goes to the worklist: if
+     * the old block is on the worklist both parts end up there, otherwise
+     * the smaller one is enough
+     */
+    private static void split(Minimization m, int block) {
+        var start = m.blockStarts[block];
+        var end = m.blockEnds[block];
+        var markedCount = m.markedCounts[block];
+
+        m.markedCounts[block] = 0;
+
+        if (markedCount == end - start) {
+            return;
+        }
+
+        int newBlock;
+
+        if (markedCount <= end - start - markedCount) {
+            m.blockStarts[block] = start + markedCount;
+            newBlock = addBlock(m, start, start + markedCount);
+        } else {
+            m.blockEnds[block] = start + markedCount;
+            newBlock = addBlock(m, start + markedCount, end);
+        }
+
+        m.worklist[m.worklistSize++] = newBlock;
+    }
+
+    private static IFiniteAutomaton createMinimalAutomaton(Minimization m) {
+        var compiled = m.compiledAutomaton;
+        var deadBlock = m.blockOf[m.deadState];
+        var initialBlock = m.blockOf[0];
+        var representatives = new int[m.blockCount];
+        var blockStates = new BaseState[m.blockCount];
+
+        if (initialBlock == deadBlock) {
+            var initialState = new State(compiled.getStateById(m.reachableStates[0]).getIdentifier());
+            initialState.setIfIsTheInitialState(true);
+
+            return new FiniteAutomaton(Set.of(), Set.of(initialState), compiled.getAlphabet());
+        }
+
+        Arrays.fill(representatives, -1);
+
+        for (var state = 0; state < m.deadState; state++) {
+            var block = m.blockOf[state];
+
+            if (block != deadBlock && representatives[block] == -1) {
+                var representedState = compiled.getStateById(m.reachableStates[state]);
+                var newState = new State(representedState.getIdentifier());
+
+                newState.setIfIsAFinalState(isFinal(m, state));
+                newState.setIfIsTheInitialState(block == initialBlock);
+
+                representatives[block] = state;
+                blockStates[block] = newState;
+            }
+        }
+
+        var states = new HashSet<BaseState>();
+        var transitions = new HashSet<BaseTransition>();
+
+        for (var block = 0; block < m.blockCount; block++) {
+            if (blockStates[block] == null) {
+                continue;
+            }
+
+            states.add(blockStates[block]);
+
+            for (var symbolId = 0; symbolId < m.symbolCount; symbolId++) {
+                var targetBlock = m.blockOf[m.table[representatives[block] * m.symbolCount + symbolId]];
+
+                if (targetBlock != deadBlock) {
+                    var symbol = compiled.getSymbolTable().symbolOf(symbolId);
+                    transitions.add(new Transition(blockStates[block], symbol, blockStates[targetBlock]));
+                }
+            }
+        }
+
+        return new FiniteAutomaton(transitions, states, compiled.getAlphabet());
+    }
+}
@@ -0,0 +1,84 @@
+package automata;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonOperations;
+import automata.abstractions.ProductOperation;
+
+/*
+ * Builds the products with ProductAutomaton, exploring only the pairs
+ * reachable from the initial one. Use ProductAutomaton directly to
+ * simulate a product without building it whole.
+ *
+ * The complement is taken over the alphabet of the automaton: its
+ * deterministic version gets a dead state "[]" for the missing
+ * transitions, and then the final states are flipped.
+ */
+public class FiniteAutomatonOperations implements IFiniteAutomatonOperations {
+    private static final String DEAD_STATE_IDENTIFIER = "[]";
+
+    @Override
+    public IFiniteAutomaton intersection(IFiniteAutomaton first, IFiniteAutomaton second) {
+        return new ProductAutomaton(first, second, ProductOperation.INTERSECTION).toFiniteAutomaton();
+    }
+
+    @Override
+    public IFiniteAutomaton union(IFiniteAutomaton first, IFiniteAutomaton second) {
+        return new ProductAutomaton(first, second, ProductOperation.UNION).toFiniteAutomaton();
+    }
+
+    @Override
+    public IFiniteAutomaton difference(IFiniteAutomaton first, IFiniteAutomaton second) {
+        return new ProductAutomaton(first, second, ProductOperation.DIFFERENCE).toFiniteAutomaton();
+    }
+
+    @Override
+    public IFiniteAutomaton complement(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        var compiled = ProductAutomaton.compile(automaton);
+        var symbolTable = compiled.getSymbolTable();
+        var states = new BaseState[compiled.getStateCount()];
+
+        for (var stateId = 0; stateId < states.length; stateId++) {
+            states[stateId] = new State(compiled.getStateById(stateId).getIdentifier());
+            states[stateId].setIfIsTheInitialState(stateId == compiled.getInitialStateId());
+            states[stateId].setIfIsAFinalState(!compiled.isAcceptingStateId(stateId));
+        }
+
+        var deadState = new State(DEAD_STATE_IDENTIFIER);
+        deadState.setIfIsAFinalState(true);
+
+        var transitions = new HashSet<BaseTransition>();
+        var needsTheDeadState = false;
+
+        for (var stateId = 0; stateId < states.length; stateId++) {
+            for (var symbolId = 0; symbolId < symbolTable.size(); symbolId++) {
+                var nextStateId = compiled.nextStateOf(stateId, symbolId);
+                var destination = nextStateId == CompiledDeterministicAutomaton.NO_STATE
+                        ? deadState
+                        : states[nextStateId];
+
+                needsTheDeadState |= destination == deadState;
+                transitions.add(new Transition(states[stateId], symbolTable.symbolOf(symbolId), destination));
+            }
+        }
+
+        var allStates = new HashSet<BaseState>(Arrays.asList(states));
+
+        if (needsTheDeadState) {
+            allStates.add(deadState);
+
+            for (var symbolId = 0; symbolId < symbolTable.size(); symbolId++) {
+                transitions.add(new Transition(deadState, symbolTable.symbolOf(symbolId), deadState));
+            }
+        }
+
+        return new FiniteAutomaton(transitions, allStates, compiled.getAlphabet());
+    }
+}
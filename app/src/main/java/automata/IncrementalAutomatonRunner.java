@@ -0,0 +1,195 @@
+package automata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import automata.abstractions.IFiniteAutomaton;
+import utils.StringUtils;
+
+/*
+ * Runs an automaton over input that arrives in pieces, keeping only the
+ * current state (or set of states) between them, so memory does not
+ * depend on the input length.
+ *
+ * Symbols can be given one by one or read from a Reader, an InputStream
+ * or CharBuffer chunks, where they are separated by whitespace like on
+ * the sentences typed on App. A symbol split between two chunks is kept
+ * pending until a whitespace, the end of a stream or
+ * completePendingSymbol() ends it.
+ */
+public class IncrementalAutomatonRunner {
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final CompiledDeterministicAutomaton compiledAutomaton;
+    private final IndexedAutomaton indexedAutomaton;
+    private final StringBuilder pendingSymbol;
+    private int currentState;
+    private StateSet activeStates;
+    private StateSet nextActiveStates;
+    private boolean isStuck;
+    private long consumedSymbols;
+
+    public IncrementalAutomatonRunner(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        if (automaton instanceof CompiledDeterministicAutomaton) {
+            compiledAutomaton = (CompiledDeterministicAutomaton) automaton;
+            indexedAutomaton = null;
+        } else if (automaton.isDeterministic()) {
+            compiledAutomaton = new CompiledDeterministicAutomaton(automaton);
+            indexedAutomaton = null;
+        } else {
+            compiledAutomaton = null;
+            indexedAutomaton = new IndexedAutomaton(automaton);
+            activeStates = indexedAutomaton.createEmptyStateSet();
+            nextActiveStates = indexedAutomaton.createEmptyStateSet();
+        }
+
+        pendingSymbol = new StringBuilder();
+        reset();
+    }
+
+    public void reset() {
+        isStuck = false;
+        consumedSymbols = 0;
+        pendingSymbol.setLength(0);
+
+        if (compiledAutomaton != null) {
+            currentState = compiledAutomaton.getInitialStateId();
+        } else {
+            activeStates.clear();
+            activeStates.addAll(indexedAutomaton.createInitialStateSet());
+        }
+    }
+
+    public void feed(String symbol) {
+        StringUtils.throwIfNullOrEmpty(symbol, "symbol");
+
+        consumedSymbols++;
+
+        if (isStuck) {
+            return;
+        }
+
+        if (compiledAutomaton != null) {
+            moveCompiledAutomatonWith(symbol);
+        } else {
+            moveActiveStatesWith(symbol);
+        }
+    }
+
+    public void feed(String... symbols) {
+        Objects.requireNonNull(symbols);
+
+        for (var symbol : symbols) {
+            feed(symbol);
+        }
+    }
+
+    public void feed(CharBuffer chars) {
+        Objects.requireNonNull(chars);
+
+        while (chars.hasRemaining()) {
+            feedCharacter(chars.get());
+        }
+    }
+
+    /*
+     * Reads the whole reader, the last symbol is ended by the end of it
+     */
+    public void feed(Reader reader) throws IOException {
+        Objects.requireNonNull(reader);
+
+        var buffer = CharBuffer.allocate(READ_BUFFER_SIZE);
+
+        while (reader.read(buffer) != -1) {
+            buffer.flip();
+            feed(buffer);
+            buffer.clear();
+        }
+
+        completePendingSymbol();
+    }
+
+    /*
+     * Reads the whole stream as UTF-8 text
+     */
+    public void feed(InputStream inputStream) throws IOException {
+        Objects.requireNonNull(inputStream);
+
+        feed(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public void completePendingSymbol() {
+        if (pendingSymbol.length() > 0) {
+            feed(pendingSymbol.toString());
+            pendingSymbol.setLength(0);
+        }
+    }
+
+    private void feedCharacter(char character) {
+        if (Character.isWhitespace(character)) {
+            completePendingSymbol();
+        } else {
+            pendingSymbol.append(character);
+        }
+    }
+
+    private void moveCompiledAutomatonWith(String symbol) {
+        var symbolId = compiledAutomaton.getSymbolId(symbol);
+
+        currentState = symbolId == SymbolTable.NO_ID
+                ? CompiledDeterministicAutomaton.NO_STATE
+                : compiledAutomaton.nextStateOf(currentState, symbolId);
+
+        isStuck = currentState == CompiledDeterministicAutomaton.NO_STATE;
+    }
+
+    private void moveActiveStatesWith(String symbol) {
+        var symbolId = indexedAutomaton.getSymbolId(symbol);
+
+        if (symbolId == IndexedAutomaton.NO_ID) {
+            isStuck = true;
+            return;
+        }
+
+        indexedAutomaton.move(activeStates, symbolId, nextActiveStates);
+
+        var previousActiveStates = activeStates;
+        activeStates = nextActiveStates;
+        nextActiveStates = previousActiveStates;
+
+        isStuck = activeStates.isEmpty();
+    }
+
+    /*
+     * Whether the symbols consumed so far form an accepted sentence;
+     * a pending symbol is not taken into account
+     */
+    public boolean isSentenceAccepted() {
+        if (isStuck) {
+            return false;
+        }
+
+        return compiledAutomaton != null
+                ? compiledAutomaton.isAcceptingStateId(currentState)
+                : indexedAutomaton.containsAFinalState(activeStates);
+    }
+
+    /*
+     * Whether no continuation of the consumed symbols can be accepted
+     * because the automaton has no transition to follow
+     */
+    public boolean isStuck() {
+        return isStuck;
+    }
+
+    public long getConsumedSymbols() {
+        return consumedSymbols;
+    }
+}
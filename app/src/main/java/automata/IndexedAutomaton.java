@@ -0,0 +1,604 @@
+package automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.ITransitionFunction;
+
+/*
+ * Dense numbering of the states and symbols of an automaton.
+ *
+ * The initial state always has id 0 and the other states are numbered
+ * following their identifiers order; the symbols are numbered by a
+ * SymbolTable. The transitions are kept in compressed rows: the entries
+ * of each state are sorted by symbol id and point to a slice of one
+ * array of destination ids, so memory is linear in the transitions and
+ * moving a set of states with a symbol is a binary search per member.
+ *
+ * When one StateSet per entry fits in MAXIMUM_DESTINATION_MASK_WORDS,
+ * each entry also gets its destinations, closures included, as a mask,
+ * and moving ORs the masks of the members word by word. Larger automata
+ * add the destinations one by one, since masks for all the entries
+ * would cost O(transitions * states) bits.
+ *
+ * The epsilon closures are computed once, over the strongly connected
+ * components of the epsilon transitions: the states of a component
+ * share one closure, kept as a compressed list of state ids, so memory
+ * follows the size of the closures instead of O(states^2) bits. Moving
+ * adds the closure of each destination, and the initial states already
+ * include their closure.
+ */
+public class IndexedAutomaton {
+    public static final int NO_ID = -1;
+
+    // 8 MB of masks at most
+    private static final long MAXIMUM_DESTINATION_MASK_WORDS = 1 << 20;
+
+    private final BaseState[] states;
+    private final Map<BaseState, Integer> stateIds;
+    private final SymbolTable symbolTable;
+    private final int symbolCount;
+    private final int[] entryOffsets;
+    private final int[] entrySymbols;
+    private final int[] destinationOffsets;
+    private final int[] destinationIds;
+    private final int[] epsilonOffsets;
+    private final int[] epsilonDestinationIds;
+    private final EpsilonClosures epsilonClosures;
+    private final StateSet[] destinationMasks;
+    private final StateSet initialStates;
+    private final StateSet finalStates;
+
+    /*
+     * Closure of each strongly connected component of the epsilon
+     * transitions, as slices of one array of state ids
+     */
+    private static class EpsilonClosures {
+        private final int[] components;
+        private final int[] closureOffsets;
+        private int[] closureIds;
+
+        private EpsilonClosures(int stateCount, int[] epsilonOffsets, int[] epsilonDestinationIds) {
+            components = new int[stateCount];
+
+            var componentCount = findStronglyConnectedComponents(epsilonOffsets, epsilonDestinationIds);
+            var memberOffsets = new int[componentCount + 1];
+            var members = new int[stateCount];
+
+            for (var stateId = 0; stateId < stateCount; stateId++) {
+                memberOffsets[components[stateId] + 1]++;
+            }
+
+            for (var component = 0; component < componentCount; component++) {
+                memberOffsets[component + 1] += memberOffsets[component];
+            }
+
+            var nextMembers = Arrays.copyOf(memberOffsets, componentCount);
+
+            for (var stateId = 0; stateId < stateCount; stateId++) {
+                members[nextMembers[components[stateId]]++] = stateId;
+            }
+
+            closureOffsets = new int[componentCount + 1];
+            closureIds = new int[stateCount];
+
+            // components are found after the ones they reach, so their closures are already known
+            var addedStates = new int[stateCount];
+            var addedComponents = new int[componentCount];
+            var closureSize = 0;
+
+            for (var component = 0; component < componentCount; component++) {
+                var mark = component + 1;
+
+                addedComponents[component] = mark;
+
+                for (var i = memberOffsets[component]; i < memberOffsets[component + 1]; i++) {
+                    closureSize = append(members[i], closureSize);
+                    addedStates[members[i]] = mark;
+                }
+
+                for (var i = memberOffsets[component]; i < memberOffsets[component + 1]; i++) {
+                    var member = members[i];
+
+                    for (var j = epsilonOffsets[member]; j < epsilonOffsets[member + 1]; j++) {
+                        var reachedComponent = components[epsilonDestinationIds[j]];
+
+                        if (addedComponents[reachedComponent] == mark) {
+                            continue;
+                        }
+
+                        addedComponents[reachedComponent] = mark;
+
+                        for (var k = closureOffsets[reachedComponent]; k < closureOffsets[reachedComponent + 1]; k++) {
+                            if (addedStates[closureIds[k]] != mark) {
+                                addedStates[closureIds[k]] = mark;
+                                closureSize = append(closureIds[k], closureSize);
+                            }
+                        }
+                    }
+                }
+
+                closureOffsets[component + 1] = closureSize;
+            }
+
+            closureIds = Arrays.copyOf(closureIds, closureSize);
+        }
+
+        private int append(int stateId, int closureSize) {
+            if (closureSize == closureIds.length) {
+                if (closureSize > Integer.MAX_VALUE / 2) {
+                    throw new IllegalArgumentException("The epsilon closures of the automaton are too large to be kept");
+                }
+
+                closureIds = Arrays.copyOf(closureIds, closureSize * 2);
+            }
+
+            closureIds[closureSize] = stateId;
+
+            return closureSize + 1;
+        }
+
+        /*
+         * Iterative Tarjan's algorithm, so long chains of epsilon
+         * transitions cannot overflow the stack. It numbers each
+         * component after every component it reaches
+         */
+        private int findStronglyConnectedComponents(int[] epsilonOffsets, int[] epsilonDestinationIds) {
+            var stateCount = components.length;
+            var indexes = new int[stateCount];
+            var lowLinks = new int[stateCount];
+            var isOnStack = new boolean[stateCount];
+            var nextEdges = new int[stateCount];
+            var componentStack = new int[stateCount];
+            var callStack = new int[stateCount];
+            var componentStackSize = 0;
+            var nextIndex = 1;
+            var componentCount = 0;
+
+            for (var root = 0; root < stateCount; root++) {
+                if (indexes[root] != 0) {
+                    continue;
+                }
+
+                var callStackSize = 0;
+
+                callStack[callStackSize++] = root;
+                indexes[root] = lowLinks[root] = nextIndex++;
+                nextEdges[root] = epsilonOffsets[root];
+                componentStack[componentStackSize++] = root;
+                isOnStack[root] = true;
+
+                while (callStackSize > 0) {
+                    var state = callStack[callStackSize - 1];
+
+                    if (nextEdges[state] < epsilonOffsets[state + 1]) {
+                        var target = epsilonDestinationIds[nextEdges[state]++];
+
+                        if (indexes[target] == 0) {
+                            indexes[target] = lowLinks[target] = nextIndex++;
+                            nextEdges[target] = epsilonOffsets[target];
+                            componentStack[componentStackSize++] = target;
+                            isOnStack[target] = true;
+                            callStack[callStackSize++] = target;
+                        } else if (isOnStack[target]) {
+                            lowLinks[state] = Math.min(lowLinks[state], indexes[target]);
+                        }
+
+                        continue;
+                    }
+
+                    callStackSize--;
+
+                    if (callStackSize > 0) {
+                        var caller = callStack[callStackSize - 1];
+                        lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[state]);
+                    }
+
+                    if (lowLinks[state] == indexes[state]) {
+                        int member;
+
+                        do {
+                            member = componentStack[--componentStackSize];
+                            isOnStack[member] = false;
+                            components[member] = componentCount;
+                        } while (member != state);
+
+                        componentCount++;
+                    }
+                }
+            }
+
+            return componentCount;
+        }
+
+        /*
+         * Adds the closure of the state to the set. A set that already
+         * has the state has its closure too, as long as it only
+         * received whole closures
+         */
+        private void addClosureOf(int stateId, StateSet set) {
+            if (set.contains(stateId)) {
+                return;
+            }
+
+            var component = components[stateId];
+
+            for (var i = closureOffsets[component]; i < closureOffsets[component + 1]; i++) {
+                set.add(closureIds[i]);
+            }
+        }
+    }
+
+    public IndexedAutomaton(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        states = numberStatesStartingByTheInitialOne(automaton);
+        stateIds = mapEachStateToItsIndex(states);
+        symbolTable = new SymbolTable(automaton.getAlphabet());
+        symbolCount = symbolTable.size();
+
+        var transitionFunction = automaton.getTransitionFunction();
+        var symbolEntryCount = 0;
+        var symbolDestinationCount = 0;
+        var epsilonDestinationCount = 0;
+
+        for (var state : states) {
+            for (var transitions : transitionFunction.getTransitionsFrom(state).entrySet()) {
+                if (transitions.getKey().equals(BaseTransition.EPSILON)) {
+                    epsilonDestinationCount += transitions.getValue().size();
+                } else if (!transitions.getValue().isEmpty()) {
+                    symbolEntryCount++;
+                    symbolDestinationCount += transitions.getValue().size();
+                }
+            }
+        }
+
+        entryOffsets = new int[states.length + 1];
+        entrySymbols = new int[symbolEntryCount];
+        destinationOffsets = new int[symbolEntryCount + 1];
+        destinationIds = new int[symbolDestinationCount];
+        epsilonOffsets = epsilonDestinationCount == 0 ? null : new int[states.length + 1];
+        epsilonDestinationIds = epsilonDestinationCount == 0 ? null : new int[epsilonDestinationCount];
+
+        fillTransitionRows(transitionFunction);
+
+        epsilonClosures = epsilonOffsets == null
+                ? null
+                : new EpsilonClosures(states.length, epsilonOffsets, epsilonDestinationIds);
+
+        destinationMasks = createDestinationMasksIfTheyFit();
+        initialStates = createEmptyStateSet();
+        addWithItsClosure(0, initialStates);
+        finalStates = createSetOf(automaton.getFinalStates().toArray(BaseState[]::new));
+    }
+
+    private static BaseState[] numberStatesStartingByTheInitialOne(IFiniteAutomaton automaton) {
+        var initialState = automaton.getInitialState();
+        var numberedStates = new BaseState[automaton.getAllStates().size()];
+        var nextId = 1;
+
+        numberedStates[0] = initialState;
+
+        var otherStates = automaton.getAllStates().stream()
+                .filter(s -> !s.equals(initialState))
+                .sorted(Comparator.comparing(BaseState::getIdentifier))
+                .toArray(BaseState[]::new);
+
+        for (var state : otherStates) {
+            numberedStates[nextId++] = state;
+        }
+
+        return numberedStates;
+    }
+
+    private static Map<BaseState, Integer> mapEachStateToItsIndex(BaseState[] states) {
+        var ids = new HashMap<BaseState, Integer>();
+
+        for (var i = 0; i < states.length; i++) {
+            ids.put(states[i], i);
+        }
+
+        return ids;
+    }
+
+    private void fillTransitionRows(ITransitionFunction transitionFunction) {
+        var entryCount = 0;
+        var destinationCount = 0;
+        var epsilonDestinationCount = 0;
+
+        for (var i = 0; i < states.length; i++) {
+            var transitionsOfTheState = transitionFunction.getTransitionsFrom(states[i]);
+            var symbolIds = new int[transitionsOfTheState.size()];
+            var symbolIdsCount = 0;
+
+            for (var transitions : transitionsOfTheState.entrySet()) {
+                if (transitions.getKey().equals(BaseTransition.EPSILON)) {
+                    for (var destination : transitions.getValue()) {
+                        epsilonDestinationIds[epsilonDestinationCount++] = stateIds.get(destination);
+                    }
+                } else if (!transitions.getValue().isEmpty()) {
+                    symbolIds[symbolIdsCount++] = symbolTable.idOf(transitions.getKey());
+                }
+            }
+
+            Arrays.sort(symbolIds, 0, symbolIdsCount);
+
+            for (var j = 0; j < symbolIdsCount; j++) {
+                entrySymbols[entryCount] = symbolIds[j];
+
+                for (var destination : transitionsOfTheState.get(symbolTable.symbolOf(symbolIds[j]))) {
+                    destinationIds[destinationCount++] = stateIds.get(destination);
+                }
+
+                destinationOffsets[++entryCount] = destinationCount;
+            }
+
+            entryOffsets[i + 1] = entryCount;
+
+            if (epsilonOffsets != null) {
+                epsilonOffsets[i + 1] = epsilonDestinationCount;
+            }
+        }
+    }
+
+    /*
+     * Index of the entry of the state with the symbol, or -1 if
+     * there is no transition for them
+     */
+    private int findEntry(int stateId, int symbolId) {
+        var low = entryOffsets[stateId];
+        var high = entryOffsets[stateId + 1] - 1;
+
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var middleSymbol = entrySymbols[middle];
+
+            if (middleSymbol < symbolId) {
+                low = middle + 1;
+            } else if (middleSymbol > symbolId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+
+        return -1;
+    }
+
+    /*
+     * Returns null when the masks would take more
+     * than MAXIMUM_DESTINATION_MASK_WORDS
+     */
+    private StateSet[] createDestinationMasksIfTheyFit() {
+        var entryCount = entrySymbols.length;
+
+        if ((long) entryCount * StateSet.wordsNeededFor(states.length) > MAXIMUM_DESTINATION_MASK_WORDS) {
+            return null;
+        }
+
+        var masks = new StateSet[entryCount];
+
+        for (var entry = 0; entry < entryCount; entry++) {
+            masks[entry] = createEmptyStateSet();
+
+            for (var i = destinationOffsets[entry]; i < destinationOffsets[entry + 1]; i++) {
+                addWithItsClosure(destinationIds[i], masks[entry]);
+            }
+        }
+
+        return masks;
+    }
+
+    private void addWithItsClosure(int stateId, StateSet set) {
+        if (epsilonClosures == null) {
+            set.add(stateId);
+        } else {
+            epsilonClosures.addClosureOf(stateId, set);
+        }
+    }
+
+    private StateSet createSetOf(BaseState[] statesToAdd) {
+        var set = new StateSet(states.length);
+
+        for (var state : statesToAdd) {
+            set.add(stateIds.get(state));
+        }
+
+        return set;
+    }
+
+    public int getStateCount() {
+        return states.length;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    public int getInitialStateId() {
+        return 0;
+    }
+
+    public boolean hasEpsilonTransitions() {
+        return epsilonClosures != null;
+    }
+
+    /*
+     * Returns a new set with the state and the states reachable from
+     * it by epsilon transitions, or null when there are none
+     */
+    public StateSet epsilonClosureOf(int stateId) {
+        if (epsilonClosures == null) {
+            return null;
+        }
+
+        var closure = createEmptyStateSet();
+
+        epsilonClosures.addClosureOf(stateId, closure);
+
+        return closure;
+    }
+
+    /*
+     * The initial state and its epsilon closure, as a new set
+     */
+    public StateSet createInitialStateSet() {
+        return initialStates.copy();
+    }
+
+    /*
+     * State of a deterministic automaton built from this one that
+     * represents the initial states: the initial state itself when it
+     * has no epsilon transitions to follow
+     */
+    public BaseState createStateRepresentingTheInitialStates() {
+        if (initialStates.size() == 1) {
+            return states[0];
+        }
+
+        var state = createStateRepresenting(initialStates);
+        state.setIfIsTheInitialState(true);
+
+        return state;
+    }
+
+    public BaseState getStateById(int stateId) {
+        return states[stateId];
+    }
+
+    public int getStateId(BaseState state) {
+        var id = stateIds.get(state);
+        return id == null ? NO_ID : id;
+    }
+
+    public String getSymbolById(int symbolId) {
+        return symbolTable.symbolOf(symbolId);
+    }
+
+    public int getSymbolId(String symbol) {
+        return symbolTable.idOf(symbol);
+    }
+
+    public boolean isAFinalState(int stateId) {
+        return finalStates.contains(stateId);
+    }
+
+    public boolean containsAFinalState(StateSet set) {
+        return finalStates.intersects(set);
+    }
+
+    /*
+     * Identifier of the state that represents the set on a
+     * deterministic automaton built from this one, like "[0, 1]"
+     */
+    public String identifierOf(StateSet set) {
+        var identifiers = new ArrayList<String>();
+
+        for (var stateId = set.nextStateId(0); stateId != -1; stateId = set.nextStateId(stateId + 1)) {
+            identifiers.add(states[stateId].getIdentifier());
+        }
+
+        return identifiers.size() > 1
+                ? "[" + String.join(", ", identifiers) + "]"
+                : String.join(", ", identifiers);
+    }
+
+    /*
+     * State of a deterministic automaton built from this one that
+     * represents the set; it is final if any state of the set is final
+     */
+    public State createStateRepresenting(StateSet set) {
+        var state = new State(identifierOf(set));
+        state.setIfIsAFinalState(containsAFinalState(set));
+
+        return state;
+    }
+
+    public StateSet createEmptyStateSet() {
+        return new StateSet(states.length);
+    }
+
+    /*
+     * Fills the result with the states reachable from the state with
+     * the symbol, epsilon closures included; the result is empty if
+     * there is no transition for them
+     */
+    public void move(int stateId, int symbolId, StateSet result) {
+        result.clear();
+        addDestinationsOf(stateId, symbolId, result);
+    }
+
+    /*
+     * Fills the result with the states reachable from any state of
+     * the origin set with the symbol. Nothing is allocated, so callers
+     * that reuse their sets can move on every symbol for free
+     */
+    public void move(StateSet origin, int symbolId, StateSet result) {
+        result.clear();
+
+        for (var stateId = origin.nextStateId(0); stateId != -1; stateId = origin.nextStateId(stateId + 1)) {
+            addDestinationsOf(stateId, symbolId, result);
+        }
+    }
+
+    private void addDestinationsOf(int stateId, int symbolId, StateSet result) {
+        var entry = findEntry(stateId, symbolId);
+
+        if (entry == -1) {
+            return;
+        }
+
+        if (destinationMasks != null) {
+            result.addAll(destinationMasks[entry]);
+            return;
+        }
+
+        for (var i = destinationOffsets[entry]; i < destinationOffsets[entry + 1]; i++) {
+            addWithItsClosure(destinationIds[i], result);
+        }
+    }
+
+    /*
+     * Lookahead over the states of this automaton, for scans that
+     * follow sets of its states
+     */
+    AcceptanceLookahead createAcceptanceLookahead() {
+        var epsilonCount = epsilonDestinationIds == null ? 0 : epsilonDestinationIds.length;
+        var transitionCount = destinationIds.length + epsilonCount;
+        var origins = new int[transitionCount];
+        var symbolIds = new int[transitionCount];
+        var targets = new int[transitionCount];
+        var transition = 0;
+
+        for (var stateId = 0; stateId < states.length; stateId++) {
+            for (var entry = entryOffsets[stateId]; entry < entryOffsets[stateId + 1]; entry++) {
+                for (var i = destinationOffsets[entry]; i < destinationOffsets[entry + 1]; i++) {
+                    origins[transition] = stateId;
+                    symbolIds[transition] = entrySymbols[entry];
+                    targets[transition++] = destinationIds[i];
+                }
+            }
+
+            if (epsilonOffsets != null) {
+                for (var i = epsilonOffsets[stateId]; i < epsilonOffsets[stateId + 1]; i++) {
+                    origins[transition] = stateId;
+                    symbolIds[transition] = SymbolTable.NO_ID;
+                    targets[transition++] = epsilonDestinationIds[i];
+                }
+            }
+        }
+
+        return new AcceptanceLookahead(states.length, symbolCount, finalStates, origins, symbolIds, targets);
+    }
+}
@@ -0,0 +1,454 @@
+package automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import automata.abstractions.AutomatonMatch;
+import automata.abstractions.AutomatonSimulationResult;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.ITransitionFunction;
+import automata.abstractions.MatchPolicy;
+import utils.ArrayUtils;
+
+/*
+ * Simulates an automaton through a deterministic automaton that is built
+ * on the fly: each deterministic state is a set of states of the source
+ * automaton and is only created when an input reaches it.
+ *
+ * The created states and their transitions are kept in a cache whose
+ * estimated size cannot go over a configurable limit. When a new state
+ * does not fit, the cache is flushed down to the initial state and the
+ * state the new one is reached from, which is linked to it, and filled
+ * again from the states the following inputs reach.
+ *
+ * The getters describe the source automaton, and the visited states of a
+ * simulation are the deterministic states, named like the ones created by
+ * FiniteAutomatonConverter. The simulation methods are synchronized
+ * because they share the cache.
+ */
+public class LazyDeterministicAutomaton implements IFiniteAutomaton {
+    public static final long DEFAULT_MAXIMUM_CACHE_SIZE_IN_BYTES = 16L * 1024 * 1024;
+
+    private static final long ESTIMATED_STATE_OVERHEAD_IN_BYTES = 128;
+
+    private final IFiniteAutomaton sourceAutomaton;
+    private final IndexedAutomaton indexedAutomaton;
+    private final long maximumCacheSizeInBytes;
+    private final long estimatedStateSizeInBytes;
+    private final Map<StateSet, CachedState> cachedStates;
+    private final CachedState deadState;
+    private final StateSet moveBuffer;
+    private CachedState initialState;
+    private AcceptanceLookahead acceptanceLookahead;
+    private long cacheHits;
+    private long cacheMisses;
+    private long cacheFlushes;
+
+    private static class CachedState {
+        private final StateSet states;
+        private final boolean isAccepting;
+        private final CachedState[] nextStates;
+        private BaseState representation;
+        private int scanSlot = -1;
+
+        private CachedState(StateSet states, boolean isAccepting, int symbolCount) {
+            this.states = states;
+            this.isAccepting = isAccepting;
+            this.nextStates = new CachedState[symbolCount];
+        }
+    }
+
+    public LazyDeterministicAutomaton(IFiniteAutomaton automaton) {
+        this(automaton, DEFAULT_MAXIMUM_CACHE_SIZE_IN_BYTES);
+    }
+
+    public LazyDeterministicAutomaton(IFiniteAutomaton automaton, long maximumCacheSizeInBytes) {
+        Objects.requireNonNull(automaton);
+
+        sourceAutomaton = automaton;
+        indexedAutomaton = new IndexedAutomaton(automaton);
+        estimatedStateSizeInBytes = ESTIMATED_STATE_OVERHEAD_IN_BYTES
+                + 8L * StateSet.wordsNeededFor(indexedAutomaton.getStateCount())
+                + 8L * indexedAutomaton.getSymbolCount();
+
+        // after a flush the cache holds the initial state, the origin and the state being reached
+        if (maximumCacheSizeInBytes < 3 * estimatedStateSizeInBytes) {
+            throw new IllegalArgumentException("The maximum cache size must fit at least three states ("
+                    + 3 * estimatedStateSizeInBytes + " bytes)");
+        }
+
+        this.maximumCacheSizeInBytes = maximumCacheSizeInBytes;
+        cachedStates = new HashMap<>();
+        deadState = new CachedState(indexedAutomaton.createEmptyStateSet(), false, 0);
+        moveBuffer = indexedAutomaton.createEmptyStateSet();
+        initialState = cacheInitialState();
+    }
+
+    private CachedState cacheInitialState() {
+        return cacheState(indexedAutomaton.createInitialStateSet());
+    }
+
+    private CachedState cacheState(StateSet states) {
+        var state = new CachedState(
+                states,
+                indexedAutomaton.containsAFinalState(states),
+                indexedAutomaton.getSymbolCount());
+
+        cachedStates.put(states, state);
+
+        return state;
+    }
+
+    private boolean cacheIsFull() {
+        return (cachedStates.size() + 1) * estimatedStateSizeInBytes > maximumCacheSizeInBytes;
+    }
+
+    /*
+     * The origin forgets its transitions, since they lead to flushed
+     * states, and is cached again so that it can be linked to the state
+     * it is about to reach
+     */
+    private void flushCacheKeeping(CachedState origin) {
+        cacheFlushes++;
+        cachedStates.clear();
+
+        Arrays.fill(origin.nextStates, null);
+        cachedStates.put(origin.states, origin);
+
+        var initialStates = indexedAutomaton.createInitialStateSet();
+        initialState = initialStates.equals(origin.states) ? origin : cacheState(initialStates);
+    }
+
+    private CachedState nextStateOf(CachedState state, int symbolId) {
+        var nextState = state.nextStates[symbolId];
+
+        if (nextState != null) {
+            cacheHits++;
+            return nextState;
+        }
+
+        cacheMisses++;
+
+        indexedAutomaton.move(state.states, symbolId, moveBuffer);
+
+        if (moveBuffer.isEmpty()) {
+            state.nextStates[symbolId] = deadState;
+            return deadState;
+        }
+
+        nextState = cachedStates.get(moveBuffer);
+
+        if (nextState == null) {
+            if (cacheIsFull()) {
+                flushCacheKeeping(state);
+            }
+
+            nextState = cacheState(moveBuffer.copy());
+        }
+
+        state.nextStates[symbolId] = nextState;
+
+        return nextState;
+    }
+
+    private BaseState representationOf(CachedState cachedState) {
+        if (cachedState.representation == null) {
+            var state = indexedAutomaton.createStateRepresenting(cachedState.states);
+            state.setIfIsTheInitialState(cachedState == initialState);
+            cachedState.representation = state;
+        }
+
+        return cachedState.representation;
+    }
+
+    /*
+     * Runs the sentence without recording the visited states
+     */
+    @Override
+    public synchronized boolean accepts(String... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        var currentState = initialState;
+
+        for (var symbol : sentence) {
+            var symbolId = indexedAutomaton.getSymbolId(symbol);
+
+            if (symbolId == IndexedAutomaton.NO_ID) {
+                return false;
+            }
+
+            currentState = nextStateOf(currentState, symbolId);
+
+            if (currentState == deadState) {
+                return false;
+            }
+        }
+
+        return currentState.isAccepting;
+    }
+
+    /*
+     * Runs a sentence tokenized by getSymbolTable() without
+     * recording the visited states
+     */
+    public synchronized boolean accepts(int... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        var currentState = initialState;
+
+        for (var symbolId : sentence) {
+            if (!indexedAutomaton.getSymbolTable().containsId(symbolId)) {
+                return false;
+            }
+
+            currentState = nextStateOf(currentState, symbolId);
+
+            if (currentState == deadState) {
+                return false;
+            }
+        }
+
+        return currentState.isAccepting;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return indexedAutomaton.getSymbolTable();
+    }
+
+    @Override
+    public synchronized AutomatonSimulationResult simulate(String... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+        ArrayUtils.throwIfAnyElementIsNullOrEmpty(sentence, "sentence");
+
+        var visitedStates = new ArrayList<BaseState>(sentence.length + 1);
+        var currentState = initialState;
+
+        visitedStates.add(representationOf(currentState));
+
+        for (var symbol : sentence) {
+            var symbolId = indexedAutomaton.getSymbolId(symbol);
+
+            if (symbolId == IndexedAutomaton.NO_ID) {
+                return new AutomatonSimulationResult(false, visitedStates);
+            }
+
+            currentState = nextStateOf(currentState, symbolId);
+
+            if (currentState == deadState) {
+                return new AutomatonSimulationResult(false, visitedStates);
+            }
+
+            visitedStates.add(representationOf(currentState));
+        }
+
+        return new AutomatonSimulationResult(currentState.isAccepting, visitedStates);
+    }
+
+    @Override
+    public List<AutomatonMatch> findMatches(MatchPolicy policy, String... symbols) {
+        ArrayUtils.throwIfNullOrEmpty(symbols, "symbols");
+
+        return findMatches(policy, indexedAutomaton.getSymbolTable().tokenize(symbols));
+    }
+
+    /*
+     * Scans like CompiledDeterministicAutomaton.findMatches: a backward
+     * pass over the source automaton finds, for each position, the
+     * states from which a match can still end, so the forward pass only
+     * follows runs that will reach a match. Empty matches are never
+     * reported.
+     */
+    public synchronized List<AutomatonMatch> findMatches(MatchPolicy policy, int... symbols) {
+        Objects.requireNonNull(policy);
+        ArrayUtils.throwIfNullOrEmpty(symbols, "symbols");
+
+        if (acceptanceLookahead == null) {
+            acceptanceLookahead = indexedAutomaton.createAcceptanceLookahead();
+        }
+
+        var lookahead = acceptanceLookahead.computeFor(symbols);
+
+        return policy == MatchPolicy.LEFTMOST_LONGEST
+                ? findLeftmostLongestMatches(symbols, lookahead)
+                : findAllOverlappingMatches(symbols, lookahead);
+    }
+
+    private CachedState nextStateOfValidatingTheSymbol(CachedState state, int symbolId) {
+        if (!indexedAutomaton.getSymbolTable().containsId(symbolId)) {
+            return deadState;
+        }
+
+        return nextStateOf(state, symbolId);
+    }
+
+    private List<AutomatonMatch> findLeftmostLongestMatches(int[] symbols, StateSet[] lookahead) {
+        var matches = new ArrayList<AutomatonMatch>();
+        var start = 0;
+
+        while (start < symbols.length) {
+            var currentState = nextStateOfValidatingTheSymbol(initialState, symbols[start]);
+            var position = start + 1;
+
+            if (!lookahead[position].intersects(currentState.states)) {
+                start++;
+                continue;
+            }
+
+            var longestMatchEnd = -1;
+
+            while (true) {
+                if (currentState.isAccepting) {
+                    longestMatchEnd = position;
+                }
+
+                if (position == symbols.length) {
+                    break;
+                }
+
+                var nextState = nextStateOfValidatingTheSymbol(currentState, symbols[position]);
+
+                if (!lookahead[position + 1].intersects(nextState.states)) {
+                    break;
+                }
+
+                currentState = nextState;
+                position++;
+            }
+
+            matches.add(new AutomatonMatch(start, longestMatchEnd));
+            start = longestMatchEnd;
+        }
+
+        return matches;
+    }
+
+    private List<AutomatonMatch> findAllOverlappingMatches(int[] symbols, StateSet[] lookahead) {
+        var matches = new ArrayList<AutomatonMatch>();
+        var runStates = new ArrayList<CachedState>();
+        var runStarts = new ArrayList<MatchStarts>();
+        var nextRunStates = new ArrayList<CachedState>();
+        var nextRunStarts = new ArrayList<MatchStarts>();
+
+        for (var position = 0; position < symbols.length; position++) {
+            // the initial state changes when the cache is flushed
+            var initialRun = initialState.scanSlot;
+
+            if (initialRun == -1) {
+                initialState.scanSlot = runStates.size();
+                runStates.add(initialState);
+                runStarts.add(MatchStarts.of(position));
+            } else {
+                runStarts.set(initialRun, MatchStarts.union(runStarts.get(initialRun), MatchStarts.of(position)));
+            }
+
+            for (var state : runStates) {
+                state.scanSlot = -1;
+            }
+
+            for (var run = 0; run < runStates.size(); run++) {
+                var nextState = nextStateOfValidatingTheSymbol(runStates.get(run), symbols[position]);
+
+                if (!lookahead[position + 1].intersects(nextState.states)) {
+                    continue;
+                }
+
+                if (nextState.scanSlot == -1) {
+                    nextState.scanSlot = nextRunStates.size();
+                    nextRunStates.add(nextState);
+                    nextRunStarts.add(runStarts.get(run));
+                } else {
+                    var nextSlot = nextState.scanSlot;
+                    nextRunStarts.set(nextSlot, MatchStarts.union(nextRunStarts.get(nextSlot), runStarts.get(run)));
+                }
+            }
+
+            for (var run = 0; run < nextRunStates.size(); run++) {
+                if (nextRunStates.get(run).isAccepting) {
+                    nextRunStarts.get(run).addMatchesEndingAt(position + 1, matches);
+                }
+            }
+
+            var previousRunStates = runStates;
+            var previousRunStarts = runStarts;
+
+            runStates = nextRunStates;
+            runStarts = nextRunStarts;
+            nextRunStates = previousRunStates;
+            nextRunStarts = previousRunStarts;
+            nextRunStates.clear();
+            nextRunStarts.clear();
+        }
+
+        for (var state : runStates) {
+            state.scanSlot = -1;
+        }
+
+        MatchStarts.sortByStartThenEnd(matches);
+
+        return matches;
+    }
+
+    public synchronized long getCacheHits() {
+        return cacheHits;
+    }
+
+    public synchronized long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public synchronized long getCacheFlushes() {
+        return cacheFlushes;
+    }
+
+    public synchronized int getCachedStatesCount() {
+        return cachedStates.size();
+    }
+
+    /*
+     * The cache is full when one more state of this size does not fit
+     * in the maximum size
+     */
+    public long getEstimatedStateSizeInBytes() {
+        return estimatedStateSizeInBytes;
+    }
+
+    public long getMaximumCacheSizeInBytes() {
+        return maximumCacheSizeInBytes;
+    }
+
+    @Override
+    public Set<String> getAlphabet() {
+        return sourceAutomaton.getAlphabet();
+    }
+
+    @Override
+    public Set<BaseState> getAllStates() {
+        return sourceAutomaton.getAllStates();
+    }
+
+    @Override
+    public BaseState getInitialState() {
+        return sourceAutomaton.getInitialState();
+    }
+
+    @Override
+    public Set<BaseState> getFinalStates() {
+        return sourceAutomaton.getFinalStates();
+    }
+
+    @Override
+    public ITransitionFunction getTransitionFunction() {
+        return sourceAutomaton.getTransitionFunction();
+    }
+
+    @Override
+    public boolean isDeterministic() {
+        return sourceAutomaton.isDeterministic();
+    }
+}
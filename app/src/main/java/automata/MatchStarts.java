@@ -0,0 +1,62 @@
+package automata;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+
+import automata.abstractions.AutomatonMatch;
+
+/*
+ * Start positions of the runs of a scan that are in the same state at
+ * the same position. From then on those runs read the same symbols in
+ * the same state, so they are followed as one: joining two groups is
+ * O(1), since the union only points to both, and listing the starts
+ * costs O(starts), since every union has two non empty sides.
+ */
+class MatchStarts {
+    private final int start;
+    private final MatchStarts left;
+    private final MatchStarts right;
+
+    private MatchStarts(int start, MatchStarts left, MatchStarts right) {
+        this.start = start;
+        this.left = left;
+        this.right = right;
+    }
+
+    static MatchStarts of(int start) {
+        return new MatchStarts(start, null, null);
+    }
+
+    static MatchStarts union(MatchStarts first, MatchStarts second) {
+        return new MatchStarts(-1, first, second);
+    }
+
+    /*
+     * Adds a match from each start to the end; the groups are walked
+     * with an explicit stack, since unions can nest as deep as the input
+     */
+    void addMatchesEndingAt(int end, List<AutomatonMatch> matches) {
+        var groupsToVisit = new ArrayDeque<MatchStarts>();
+
+        groupsToVisit.push(this);
+
+        while (!groupsToVisit.isEmpty()) {
+            var group = groupsToVisit.pop();
+
+            if (group.left == null) {
+                matches.add(new AutomatonMatch(group.start, end));
+            } else {
+                groupsToVisit.push(group.right);
+                groupsToVisit.push(group.left);
+            }
+        }
+    }
+
+    /*
+     * Matches are found by end position; scans return them by start
+     */
+    static void sortByStartThenEnd(List<AutomatonMatch> matches) {
+        matches.sort(Comparator.comparingInt(AutomatonMatch::getStart).thenComparingInt(AutomatonMatch::getEnd));
+    }
+}
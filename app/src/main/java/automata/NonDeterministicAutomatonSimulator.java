@@ -0,0 +1,179 @@
+package automata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import automata.abstractions.AutomatonSimulationResult;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+
+/*
+ * Simulates a non deterministic automaton by moving the whole set of
+ * active states forward one symbol at a time instead of backtracking,
+ * so the cost is O(|sentence| x |states|) and there is no recursion.
+ *
+ * The active states of each step are kept as bitsets, so one run can be
+ * rebuilt backwards at the end and returned as the visited states:
+ * an accepting run if the sentence was accepted, otherwise the run
+ * that got the furthest. Epsilon transitions are followed by each move,
+ * so the run has one state per symbol read.
+ */
+public class NonDeterministicAutomatonSimulator {
+    private final IndexedAutomaton indexedAutomaton;
+
+    public NonDeterministicAutomatonSimulator(IFiniteAutomaton automaton) {
+        Objects.requireNonNull(automaton);
+
+        indexedAutomaton = new IndexedAutomaton(automaton);
+    }
+
+    public SymbolTable getSymbolTable() {
+        return indexedAutomaton.getSymbolTable();
+    }
+
+    public AutomatonSimulationResult simulate(String[] sentence) {
+        return simulate(indexedAutomaton.getSymbolTable().tokenize(sentence));
+    }
+
+    /*
+     * Simulates a sentence tokenized by the symbol table
+     */
+    public AutomatonSimulationResult simulate(int[] sentence) {
+        var activeStatesOnEachStep = new ArrayList<StateSet>(sentence.length + 1);
+        var activeStates = indexedAutomaton.createInitialStateSet();
+
+        activeStatesOnEachStep.add(activeStates);
+
+        for (var symbolId : sentence) {
+            if (!indexedAutomaton.getSymbolTable().containsId(symbolId)) {
+                break;
+            }
+
+            var nextActiveStates = indexedAutomaton.createEmptyStateSet();
+            indexedAutomaton.move(activeStates, symbolId, nextActiveStates);
+
+            if (nextActiveStates.isEmpty()) {
+                break;
+            }
+
+            activeStatesOnEachStep.add(nextActiveStates);
+            activeStates = nextActiveStates;
+        }
+
+        var consumedTheWholeSentence = activeStatesOnEachStep.size() == sentence.length + 1;
+        var wasAccepted = consumedTheWholeSentence && indexedAutomaton.containsAFinalState(activeStates);
+        var lastStateId = wasAccepted
+                ? findFinalStateIn(activeStates)
+                : activeStates.nextStateId(0);
+
+        var visitedStates = rebuildRunEndingAt(lastStateId, sentence, activeStatesOnEachStep);
+
+        return new AutomatonSimulationResult(wasAccepted, visitedStates);
+    }
+
+    /*
+     * Moves the active states between two reused sets, so nothing
+     * is allocated per symbol and no run is kept
+     */
+    public boolean accepts(int[] sentence) {
+        var activeStates = indexedAutomaton.createInitialStateSet();
+        var nextActiveStates = indexedAutomaton.createEmptyStateSet();
+
+        for (var symbolId : sentence) {
+            if (!indexedAutomaton.getSymbolTable().containsId(symbolId)) {
+                return false;
+            }
+
+            indexedAutomaton.move(activeStates, symbolId, nextActiveStates);
+
+            if (nextActiveStates.isEmpty()) {
+                return false;
+            }
+
+            var previousActiveStates = activeStates;
+            activeStates = nextActiveStates;
+            nextActiveStates = previousActiveStates;
+        }
+
+        return indexedAutomaton.containsAFinalState(activeStates);
+    }
+
+    public boolean accepts(String[] sentence) {
+        return accepts(indexedAutomaton.getSymbolTable().tokenize(sentence));
+    }
+
+    /*
+     * Reads each character of the text as a symbol; only valid
+     * for automata whose alphabet is made of single characters
+     */
+    public boolean acceptsCharacters(CharSequence text) {
+        var symbolTable = indexedAutomaton.getSymbolTable();
+        var activeStates = indexedAutomaton.createInitialStateSet();
+        var nextActiveStates = indexedAutomaton.createEmptyStateSet();
+
+        for (var i = 0; i < text.length(); i++) {
+            var symbolId = symbolTable.idOf(text.charAt(i));
+
+            if (symbolId == SymbolTable.NO_ID) {
+                return false;
+            }
+
+            indexedAutomaton.move(activeStates, symbolId, nextActiveStates);
+
+            if (nextActiveStates.isEmpty()) {
+                return false;
+            }
+
+            var previousActiveStates = activeStates;
+            activeStates = nextActiveStates;
+            nextActiveStates = previousActiveStates;
+        }
+
+        return indexedAutomaton.containsAFinalState(activeStates);
+    }
+
+    private int findFinalStateIn(StateSet set) {
+        for (var stateId = set.nextStateId(0); stateId != -1; stateId = set.nextStateId(stateId + 1)) {
+            if (indexedAutomaton.isAFinalState(stateId)) {
+                return stateId;
+            }
+        }
+
+        return -1;
+    }
+
+    private int findPredecessorIn(StateSet candidates, int symbolId, int stateId) {
+        var destinations = indexedAutomaton.createEmptyStateSet();
+        var candidate = candidates.nextStateId(0);
+
+        while (candidate != -1) {
+            indexedAutomaton.move(candidate, symbolId, destinations);
+
+            if (destinations.contains(stateId)) {
+                return candidate;
+            }
+
+            candidate = candidates.nextStateId(candidate + 1);
+        }
+
+        return -1;
+    }
+
+    private List<BaseState> rebuildRunEndingAt(
+            int lastStateId,
+            int[] sentence,
+            List<StateSet> activeStatesOnEachStep) {
+        var run = new BaseState[activeStatesOnEachStep.size()];
+        var currentStateId = lastStateId;
+
+        for (var i = run.length - 1; i > 0; i--) {
+            run[i] = indexedAutomaton.getStateById(currentStateId);
+            currentStateId = findPredecessorIn(activeStatesOnEachStep.get(i - 1), sentence[i - 1], currentStateId);
+        }
+
+        run[0] = indexedAutomaton.getStateById(currentStateId);
+
+        return new ArrayList<>(List.of(run));
+    }
+}
@@ -0,0 +1,160 @@
+package automata;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonConverter;
+
+/*
+ * Powerset construction that explores the subsets level by level: each
+ * subset of a level is a task of the pool, which computes the successors
+ * of the subset for every symbol and registers new subsets on a
+ * concurrent index. The new subsets form the next level.
+ *
+ * State names only depend on the subset they represent, so the result
+ * is the same automaton FiniteAutomatonConverter builds, whatever the
+ * thread scheduling. Everything a conversion uses is local to it, so one
+ * converter can be shared by many threads.
+ */
+public class ParallelFiniteAutomatonConverter implements IFiniteAutomatonConverter {
+    private final ForkJoinPool pool;
+
+    private static class Conversion {
+        private final IndexedAutomaton automatonToBeConverted;
+        private final ConcurrentMap<StateSet, BaseState> destinationsAndCorrespondingStates;
+        private final Set<BaseTransition> newAutomatonTransitions;
+        private final Queue<StateSet> nextLevel;
+
+        private Conversion(IFiniteAutomaton automaton) {
+            automatonToBeConverted = new IndexedAutomaton(automaton);
+            destinationsAndCorrespondingStates = new ConcurrentHashMap<>();
+            newAutomatonTransitions = ConcurrentHashMap.newKeySet();
+            nextLevel = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /*
+     * Splits a range of the level in halves until each task explores
+     * a single subset, so the work runs on the pool threads only
+     */
+    private static class LevelExploration extends RecursiveAction {
+        private final Conversion conversion;
+        private final List<StateSet> level;
+        private final int from;
+        private final int to;
+
+        private LevelExploration(Conversion conversion, List<StateSet> level, int from, int to) {
+            this.conversion = conversion;
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                explore(conversion, level.get(from));
+                return;
+            }
+
+            var middle = (from + to) >>> 1;
+
+            invokeAll(new LevelExploration(conversion, level, from, middle),
+                    new LevelExploration(conversion, level, middle, to));
+        }
+    }
+
+    public ParallelFiniteAutomatonConverter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelFiniteAutomatonConverter(ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+
+        this.pool = pool;
+    }
+
+    @Override
+    public IFiniteAutomaton convertNonDeterministicAutomatonToADeterministicOne(
+            IFiniteAutomaton automaton) {
+        FiniteAutomatonConverter.validateAutomaton(automaton);
+
+        var conversion = new Conversion(automaton);
+        var currentLevel = List.of(createInitialStateSet(conversion));
+
+        while (!currentLevel.isEmpty()) {
+            pool.invoke(new LevelExploration(conversion, currentLevel, 0, currentLevel.size()));
+
+            currentLevel = new ArrayList<>(conversion.nextLevel);
+            conversion.nextLevel.clear();
+        }
+
+        return new FiniteAutomaton(
+                conversion.newAutomatonTransitions,
+                new HashSet<>(conversion.destinationsAndCorrespondingStates.values()),
+                automaton.getAlphabet());
+    }
+
+    private static StateSet createInitialStateSet(Conversion conversion) {
+        var automaton = conversion.automatonToBeConverted;
+        var initialStateSet = automaton.createInitialStateSet();
+
+        conversion.destinationsAndCorrespondingStates.put(initialStateSet,
+                automaton.createStateRepresentingTheInitialStates());
+
+        return initialStateSet;
+    }
+
+    private static void explore(Conversion conversion, StateSet stateSet) {
+        var automaton = conversion.automatonToBeConverted;
+        var origin = conversion.destinationsAndCorrespondingStates.get(stateSet);
+        var destinations = automaton.createEmptyStateSet();
+
+        for (var symbolId = 0; symbolId < automaton.getSymbolCount(); symbolId++) {
+            automaton.move(stateSet, symbolId, destinations);
+
+            if (!destinations.isEmpty()) {
+                var destination = getOrDiscoverStateFor(conversion, destinations);
+                var symbol = automaton.getSymbolById(symbolId);
+
+                conversion.newAutomatonTransitions.add(new Transition(origin, symbol, destination));
+            }
+        }
+    }
+
+    /*
+     * Only the thread whose set is registered first queues it, so
+     * each subset is explored once even if many threads discover it
+     */
+    private static BaseState getOrDiscoverStateFor(Conversion conversion, StateSet destinations) {
+        var existingState = conversion.destinationsAndCorrespondingStates.get(destinations);
+
+        if (existingState != null) {
+            return existingState;
+        }
+
+        var newStateSet = destinations.copy();
+        var newState = conversion.automatonToBeConverted.createStateRepresenting(newStateSet);
+        var registeredState = conversion.destinationsAndCorrespondingStates.putIfAbsent(newStateSet, newState);
+
+        if (registeredState != null) {
+            return registeredState;
+        }
+
+        conversion.nextLevel.add(newStateSet);
+
+        return newState;
+    }
+}
@@ -0,0 +1,76 @@
+package automata;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import automata.abstractions.AutomatonSimulationResult;
+import automata.abstractions.IFiniteAutomaton;
+import utils.CollectionUtils;
+
+/*
+ * Simulates many sentences against one automaton splitting them across
+ * the cores with parallel streams that run on the given pool. The
+ * results keep the input order. Sentences are taken as lists and not as
+ * streams: a lazy stream would run on the pool of whoever consumes it,
+ * not on the given one.
+ *
+ * The automaton simulate method must be safe to call from many threads,
+ * which holds for the automata of this package since none of them
+ * changes shared state while simulating without synchronization.
+ */
+public class ParallelSentenceSimulator {
+    private final IFiniteAutomaton automaton;
+    private final ForkJoinPool pool;
+
+    public ParallelSentenceSimulator(IFiniteAutomaton automaton) {
+        this(automaton, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSentenceSimulator(IFiniteAutomaton automaton, ForkJoinPool pool) {
+        Objects.requireNonNull(automaton);
+        Objects.requireNonNull(pool);
+
+        this.automaton = automaton;
+        this.pool = pool;
+    }
+
+    public List<AutomatonSimulationResult> simulateAll(List<String[]> sentences) {
+        CollectionUtils.throwIfNullOrEmpty(sentences, "sentences");
+
+        return runOnPool(() -> sentences.parallelStream()
+                .map(automaton::simulate)
+                .collect(Collectors.toList()));
+    }
+
+    /*
+     * Only tells which sentences are accepted, which avoids keeping
+     * the visited states of every sentence in memory
+     */
+    public boolean[] acceptAll(List<String[]> sentences) {
+        CollectionUtils.throwIfNullOrEmpty(sentences, "sentences");
+
+        var sentencesArray = sentences.toArray(String[][]::new);
+        var accepted = new boolean[sentencesArray.length];
+
+        return runOnPool(() -> {
+            IntStream.range(0, accepted.length)
+                    .parallel()
+                    .forEach(i -> accepted[i] = automaton.accepts(sentencesArray[i]));
+
+            return accepted;
+        });
+    }
+
+    // parallel streams run on the pool of the thread that starts them
+    private <T> T runOnPool(Supplier<T> task) {
+        if (pool == ForkJoinPool.commonPool()) {
+            return task.get();
+        }
+
+        return pool.submit(task::get).join();
+    }
+}
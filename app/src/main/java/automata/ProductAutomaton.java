@@ -0,0 +1,302 @@
+package automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import automata.abstractions.AutomatonSimulationResult;
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.ProductOperation;
+
+/*
+ * Product of two automata that is built on demand: each state is a pair
+ * of states of the deterministic versions of the operands, numbered
+ * densely the first time an input reaches it, and each transition of a
+ * pair is computed once from the compiled tables of the operands.
+ *
+ * The product reads the union of both alphabets. An operand that cannot
+ * read a symbol goes to its dead state, kept as NO_STATE in the pair,
+ * and pairs from which no sentence can be accepted are not created.
+ *
+ * Non deterministic operands are converted by FiniteAutomatonConverter
+ * first. The methods are synchronized because they share the pairs.
+ */
+public class ProductAutomaton {
+    public static final int NO_PAIR = -1;
+
+    private static final int UNKNOWN_PAIR = -2;
+    private static final String DEAD_STATE_IDENTIFIER = "[]";
+
+    private final CompiledDeterministicAutomaton first;
+    private final CompiledDeterministicAutomaton second;
+    private final ProductOperation operation;
+    private final Set<String> alphabet;
+    private final SymbolTable symbolTable;
+    private final int symbolCount;
+    private final int[] firstSymbolIds;
+    private final int[] secondSymbolIds;
+    private final Map<Long, Integer> pairIds;
+    private int[] firstStates;
+    private int[] secondStates;
+    private int[] nextPairs;
+    private BaseState[] pairStates;
+    private int pairCount;
+
+    public ProductAutomaton(IFiniteAutomaton first, IFiniteAutomaton second, ProductOperation operation) {
+        Objects.requireNonNull(first);
+        Objects.requireNonNull(second);
+        Objects.requireNonNull(operation);
+
+        this.first = compile(first);
+        this.second = compile(second);
+        this.operation = operation;
+
+        alphabet = new HashSet<>(first.getAlphabet());
+        alphabet.addAll(second.getAlphabet());
+
+        symbolTable = new SymbolTable(alphabet);
+        symbolCount = symbolTable.size();
+        firstSymbolIds = mapSymbolIdsTo(this.first.getSymbolTable());
+        secondSymbolIds = mapSymbolIdsTo(this.second.getSymbolTable());
+
+        pairIds = new HashMap<>();
+        firstStates = new int[16];
+        secondStates = new int[16];
+        nextPairs = new int[16 * symbolCount];
+        pairStates = new BaseState[16];
+
+        addPair(this.first.getInitialStateId(), this.second.getInitialStateId());
+    }
+
+    static CompiledDeterministicAutomaton compile(IFiniteAutomaton automaton) {
+        if (automaton instanceof CompiledDeterministicAutomaton) {
+            return (CompiledDeterministicAutomaton) automaton;
+        }
+
+        var deterministicAutomaton = automaton.isDeterministic()
+                ? automaton
+                : new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+        return new CompiledDeterministicAutomaton(deterministicAutomaton);
+    }
+
+    private int[] mapSymbolIdsTo(SymbolTable operandSymbolTable) {
+        var ids = new int[symbolCount];
+
+        for (var symbolId = 0; symbolId < symbolCount; symbolId++) {
+            ids[symbolId] = operandSymbolTable.idOf(symbolTable.symbolOf(symbolId));
+        }
+
+        return ids;
+    }
+
+    private static long keyOf(int firstState, int secondState) {
+        return ((long) (firstState + 1) << 32) | (secondState + 1);
+    }
+
+    private int addPair(int firstState, int secondState) {
+        if (pairCount == firstStates.length) {
+            var newCapacity = pairCount * 2;
+
+            firstStates = Arrays.copyOf(firstStates, newCapacity);
+            secondStates = Arrays.copyOf(secondStates, newCapacity);
+            nextPairs = Arrays.copyOf(nextPairs, newCapacity * symbolCount);
+            pairStates = Arrays.copyOf(pairStates, newCapacity);
+        }
+
+        var pairId = pairCount++;
+
+        firstStates[pairId] = firstState;
+        secondStates[pairId] = secondState;
+        Arrays.fill(nextPairs, pairId * symbolCount, (pairId + 1) * symbolCount, UNKNOWN_PAIR);
+        pairIds.put(keyOf(firstState, secondState), pairId);
+
+        return pairId;
+    }
+
+    private boolean combine(boolean isAcceptedByFirst, boolean isAcceptedBySecond) {
+        switch (operation) {
+            case INTERSECTION:
+                return isAcceptedByFirst && isAcceptedBySecond;
+            case UNION:
+                return isAcceptedByFirst || isAcceptedBySecond;
+            default:
+                return isAcceptedByFirst && !isAcceptedBySecond;
+        }
+    }
+
+    /*
+     * A dead operand accepts nothing, so a pair is useless when the
+     * operation cannot accept with the dead operands rejecting
+     */
+    private boolean isUseless(int firstState, int secondState) {
+        var firstCanAccept = firstState != CompiledDeterministicAutomaton.NO_STATE;
+        var secondCanAccept = secondState != CompiledDeterministicAutomaton.NO_STATE;
+
+        return !combine(firstCanAccept, false)
+                && !combine(false, secondCanAccept)
+                && !combine(firstCanAccept, secondCanAccept);
+    }
+
+    private static int nextStateOf(CompiledDeterministicAutomaton operand, int stateId, int symbolId) {
+        if (stateId == CompiledDeterministicAutomaton.NO_STATE || symbolId == SymbolTable.NO_ID) {
+            return CompiledDeterministicAutomaton.NO_STATE;
+        }
+
+        return operand.nextStateOf(stateId, symbolId);
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
+    }
+
+    public ProductOperation getOperation() {
+        return operation;
+    }
+
+    public int getInitialPairId() {
+        return 0;
+    }
+
+    public synchronized int getPairCount() {
+        return pairCount;
+    }
+
+    /*
+     * Returns NO_PAIR if no sentence can be accepted after the symbol
+     */
+    public synchronized int nextPairOf(int pairId, int symbolId) {
+        var cell = pairId * symbolCount + symbolId;
+
+        if (nextPairs[cell] != UNKNOWN_PAIR) {
+            return nextPairs[cell];
+        }
+
+        var nextFirstState = nextStateOf(first, firstStates[pairId], firstSymbolIds[symbolId]);
+        var nextSecondState = nextStateOf(second, secondStates[pairId], secondSymbolIds[symbolId]);
+
+        int nextPairId;
+
+        if (isUseless(nextFirstState, nextSecondState)) {
+            nextPairId = NO_PAIR;
+        } else {
+            var existingPairId = pairIds.get(keyOf(nextFirstState, nextSecondState));
+            nextPairId = existingPairId != null ? existingPairId : addPair(nextFirstState, nextSecondState);
+        }
+
+        // the arrays may have grown while adding the pair
+        nextPairs[cell] = nextPairId;
+
+        return nextPairId;
+    }
+
+    public synchronized boolean isAcceptingPairId(int pairId) {
+        var firstState = firstStates[pairId];
+        var secondState = secondStates[pairId];
+
+        return combine(
+                firstState != CompiledDeterministicAutomaton.NO_STATE && first.isAcceptingStateId(firstState),
+                secondState != CompiledDeterministicAutomaton.NO_STATE && second.isAcceptingStateId(secondState));
+    }
+
+    public boolean accepts(String... sentence) {
+        return accepts(symbolTable.tokenize(sentence));
+    }
+
+    /*
+     * Only the pairs the sentence reaches are created
+     */
+    public synchronized boolean accepts(int... sentence) {
+        var pairId = getInitialPairId();
+
+        for (var symbolId : sentence) {
+            if (!symbolTable.containsId(symbolId)) {
+                return false;
+            }
+
+            pairId = nextPairOf(pairId, symbolId);
+
+            if (pairId == NO_PAIR) {
+                return false;
+            }
+        }
+
+        return isAcceptingPairId(pairId);
+    }
+
+    /*
+     * The visited states are the pairs, named "(first, second)"
+     * with "[]" standing for a dead operand
+     */
+    public synchronized AutomatonSimulationResult simulate(String... sentence) {
+        var visitedStates = new ArrayList<BaseState>(List.of(getStateOfPair(getInitialPairId())));
+        var pairId = getInitialPairId();
+
+        for (var symbolId : symbolTable.tokenize(sentence)) {
+            var nextPairId = symbolTable.containsId(symbolId) ? nextPairOf(pairId, symbolId) : NO_PAIR;
+
+            if (nextPairId == NO_PAIR) {
+                return new AutomatonSimulationResult(false, visitedStates);
+            }
+
+            pairId = nextPairId;
+            visitedStates.add(getStateOfPair(pairId));
+        }
+
+        return new AutomatonSimulationResult(isAcceptingPairId(pairId), visitedStates);
+    }
+
+    private BaseState getStateOfPair(int pairId) {
+        if (pairStates[pairId] == null) {
+            var state = new State("(" + identifierOf(first, firstStates[pairId]) + ", "
+                    + identifierOf(second, secondStates[pairId]) + ")");
+
+            state.setIfIsTheInitialState(pairId == getInitialPairId());
+            state.setIfIsAFinalState(isAcceptingPairId(pairId));
+
+            pairStates[pairId] = state;
+        }
+
+        return pairStates[pairId];
+    }
+
+    private static String identifierOf(CompiledDeterministicAutomaton operand, int stateId) {
+        return stateId == CompiledDeterministicAutomaton.NO_STATE
+                ? DEAD_STATE_IDENTIFIER
+                : operand.getStateById(stateId).getIdentifier();
+    }
+
+    /*
+     * Creates every pair reachable from the initial one. New pairs get
+     * the next ids, so walking the ids in order is a breadth-first search.
+     * The result keeps the merged alphabet even if it has no transitions
+     */
+    public synchronized IFiniteAutomaton toFiniteAutomaton() {
+        var transitions = new HashSet<BaseTransition>();
+        var states = new HashSet<BaseState>();
+
+        for (var pairId = 0; pairId < pairCount; pairId++) {
+            states.add(getStateOfPair(pairId));
+
+            for (var symbolId = 0; symbolId < symbolCount; symbolId++) {
+                var nextPairId = nextPairOf(pairId, symbolId);
+
+                if (nextPairId != NO_PAIR) {
+                    transitions.add(new Transition(
+                            getStateOfPair(pairId),
+                            symbolTable.symbolOf(symbolId),
+                            getStateOfPair(nextPairId)));
+                }
+            }
+        }
+
+        return new FiniteAutomaton(transitions, states, alphabet);
+    }
+}
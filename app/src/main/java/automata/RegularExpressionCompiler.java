@@ -0,0 +1,308 @@
+package automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IRegularExpressionCompiler;
+import utils.StringUtils;
+
+/*
+ * Thompson's construction: each part of the pattern becomes a fragment
+ * with one start and one end state, joined to the others by epsilon
+ * transitions, so the automaton has O(pattern length) states and
+ * transitions and is built in a single pass.
+ *
+ * Each character of the pattern is a symbol, so the automaton can read
+ * text with acceptsCharacters. The syntax is:
+ * ab -> a followed by b
+ * a|b -> a or b
+ * a* a+ a? -> zero or more, one or more, zero or one a
+ * (ab) -> grouping
+ * [abc] [a-z] -> any of the characters or of the range
+ * \c -> the character c, even if it is an operator
+ *
+ * Alternatives are parsed in a loop and joined at once by a new start
+ * and a new end state, so thousands of them do not nest.
+ */
+public class RegularExpressionCompiler implements IRegularExpressionCompiler {
+    private static class Fragment {
+        private final int start;
+        private final int end;
+
+        private Fragment(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static class Compilation {
+        private final String pattern;
+        private int position;
+        private int stateCount;
+        private int[] origins = new int[16];
+        private int[] targets = new int[16];
+        private final List<String> symbols = new ArrayList<>();
+
+        private Compilation(String pattern) {
+            this.pattern = pattern;
+        }
+
+        private boolean hasNext() {
+            return position < pattern.length();
+        }
+
+        private char peek() {
+            return pattern.charAt(position);
+        }
+
+        private char next() {
+            if (!hasNext()) {
+                throw error("Unexpected end of the pattern");
+            }
+
+            return pattern.charAt(position++);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position + " of " + pattern);
+        }
+
+        private int newState() {
+            return stateCount++;
+        }
+
+        private void addTransition(int origin, String symbol, int target) {
+            if (symbols.size() == origins.length) {
+                origins = Arrays.copyOf(origins, origins.length * 2);
+                targets = Arrays.copyOf(targets, targets.length * 2);
+            }
+
+            origins[symbols.size()] = origin;
+            targets[symbols.size()] = target;
+            symbols.add(symbol);
+        }
+
+        private void addEpsilonTransition(int origin, int target) {
+            addTransition(origin, BaseTransition.EPSILON, target);
+        }
+    }
+
+    @Override
+    public IFiniteAutomaton compile(String pattern) {
+        StringUtils.throwIfNullOrEmpty(pattern, "pattern");
+
+        var compilation = new Compilation(pattern);
+        var fragment = parseAlternation(compilation);
+
+        if (compilation.hasNext()) {
+            throw compilation.error("Unexpected " + compilation.peek());
+        }
+
+        return createAutomaton(compilation, fragment);
+    }
+
+    private static Fragment parseAlternation(Compilation compilation) {
+        var alternatives = new ArrayList<Fragment>();
+
+        alternatives.add(parseConcatenation(compilation));
+
+        while (compilation.hasNext() && compilation.peek() == '|') {
+            compilation.next();
+            alternatives.add(parseConcatenation(compilation));
+        }
+
+        if (alternatives.size() == 1) {
+            return alternatives.get(0);
+        }
+
+        var start = compilation.newState();
+        var end = compilation.newState();
+
+        for (var alternative : alternatives) {
+            compilation.addEpsilonTransition(start, alternative.start);
+            compilation.addEpsilonTransition(alternative.end, end);
+        }
+
+        return new Fragment(start, end);
+    }
+
+    private static Fragment parseConcatenation(Compilation compilation) {
+        Fragment concatenation = null;
+
+        while (compilation.hasNext() && compilation.peek() != '|' && compilation.peek() != ')') {
+            var fragment = parseRepetition(compilation);
+
+            if (concatenation == null) {
+                concatenation = fragment;
+            } else {
+                compilation.addEpsilonTransition(concatenation.end, fragment.start);
+                concatenation = new Fragment(concatenation.start, fragment.end);
+            }
+        }
+
+        // an empty alternative, like the second one of a|, matches the empty sentence
+        if (concatenation == null) {
+            var state = compilation.newState();
+            return new Fragment(state, state);
+        }
+
+        return concatenation;
+    }
+
+    private static Fragment parseRepetition(Compilation compilation) {
+        var fragment = parseAtom(compilation);
+
+        while (compilation.hasNext() && "*+?".indexOf(compilation.peek()) != -1) {
+            var operator = compilation.next();
+            var start = compilation.newState();
+            var end = compilation.newState();
+
+            compilation.addEpsilonTransition(start, fragment.start);
+            compilation.addEpsilonTransition(fragment.end, end);
+
+            if (operator != '?') {
+                compilation.addEpsilonTransition(fragment.end, fragment.start);
+            }
+
+            if (operator != '+') {
+                compilation.addEpsilonTransition(start, end);
+            }
+
+            fragment = new Fragment(start, end);
+        }
+
+        return fragment;
+    }
+
+    private static Fragment parseAtom(Compilation compilation) {
+        var character = compilation.next();
+
+        switch (character) {
+            case '(':
+                var group = parseAlternation(compilation);
+
+                if (!compilation.hasNext() || compilation.next() != ')') {
+                    throw compilation.error("Missing )");
+                }
+
+                return group;
+            case '[':
+                return parseCharacterClass(compilation);
+            case '\\':
+                return createSymbolFragment(compilation, compilation.next());
+            case ')':
+            case '*':
+            case '+':
+            case '?':
+            case ']':
+                throw compilation.error("Unexpected " + character);
+            default:
+                return createSymbolFragment(compilation, character);
+        }
+    }
+
+    private static Fragment createSymbolFragment(Compilation compilation, char symbol) {
+        var start = compilation.newState();
+        var end = compilation.newState();
+
+        compilation.addTransition(start, String.valueOf(symbol), end);
+
+        return new Fragment(start, end);
+    }
+
+    private static Fragment parseCharacterClass(Compilation compilation) {
+        var start = compilation.newState();
+        var end = compilation.newState();
+        var addedCharacters = new HashSet<Character>();
+
+        if (compilation.hasNext() && compilation.peek() == '^') {
+            throw compilation.error("Negated character classes are not supported");
+        }
+
+        while (true) {
+            if (!compilation.hasNext()) {
+                throw compilation.error("Missing ]");
+            }
+
+            if (compilation.peek() == ']') {
+                break;
+            }
+
+            var first = readClassCharacter(compilation);
+            var last = first;
+
+            if (isARangeDash(compilation)) {
+                compilation.next();
+                last = readClassCharacter(compilation);
+
+                if (last < first) {
+                    throw compilation.error("Invalid range " + first + "-" + last);
+                }
+            }
+
+            for (int character = first; character <= last; character++) {
+                if (addedCharacters.add((char) character)) {
+                    compilation.addTransition(start, String.valueOf((char) character), end);
+                }
+            }
+        }
+
+        compilation.next();
+
+        if (addedCharacters.isEmpty()) {
+            throw compilation.error("Empty character class");
+        }
+
+        return new Fragment(start, end);
+    }
+
+    private static char readClassCharacter(Compilation compilation) {
+        var character = compilation.next();
+
+        return character == '\\' ? compilation.next() : character;
+    }
+
+    /*
+     * A dash is a range only between two characters, so [a-] and [-a] have a dash
+     */
+    private static boolean isARangeDash(Compilation compilation) {
+        var pattern = compilation.pattern;
+        var position = compilation.position;
+
+        return position + 1 < pattern.length()
+                && pattern.charAt(position) == '-'
+                && pattern.charAt(position + 1) != ']';
+    }
+
+    private static IFiniteAutomaton createAutomaton(Compilation compilation, Fragment fragment) {
+        var states = new BaseState[compilation.stateCount];
+
+        for (var i = 0; i < states.length; i++) {
+            states[i] = new State(String.valueOf(i));
+        }
+
+        states[fragment.start].setIfIsTheInitialState(true);
+        states[fragment.end].setIfIsAFinalState(true);
+
+        var transitions = new HashSet<BaseTransition>();
+        var alphabet = new HashSet<String>();
+
+        for (var i = 0; i < compilation.symbols.size(); i++) {
+            var symbol = compilation.symbols.get(i);
+
+            transitions.add(new Transition(states[compilation.origins[i]], symbol, states[compilation.targets[i]]));
+
+            if (!symbol.equals(BaseTransition.EPSILON)) {
+                alphabet.add(symbol);
+            }
+        }
+
+        // patterns like () have no symbol transitions, but still accept the empty sentence
+        return new FiniteAutomaton(transitions, new HashSet<>(Arrays.asList(states)), alphabet);
+    }
+}
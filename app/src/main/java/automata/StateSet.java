@@ -0,0 +1,144 @@
+package automata;
+
+import java.util.Arrays;
+
+/*
+ * Set of dense state ids stored as a bitset: the state with id i is
+ * present if the bit (i % 64) of the word (i / 64) is set.
+ */
+public class StateSet {
+    private final long[] words;
+    private int cachedHashCode;
+
+    public StateSet(int numberOfStates) {
+        if (numberOfStates < 0) {
+            throw new IllegalArgumentException("The number of states cannot be negative");
+        }
+
+        words = new long[wordsNeededFor(numberOfStates)];
+    }
+
+    private StateSet(long[] words) {
+        this.words = words;
+    }
+
+    public static int wordsNeededFor(int numberOfStates) {
+        return (numberOfStates + 63) >>> 6;
+    }
+
+    public void add(int stateId) {
+        words[stateId >>> 6] |= 1L << stateId;
+        cachedHashCode = 0;
+    }
+
+    public boolean contains(int stateId) {
+        return (words[stateId >>> 6] & (1L << stateId)) != 0;
+    }
+
+    public void addAll(StateSet other) {
+        for (var i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+
+        cachedHashCode = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+        cachedHashCode = 0;
+    }
+
+    public boolean isEmpty() {
+        for (var word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean intersects(StateSet other) {
+        for (var i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean isSubsetOf(StateSet other) {
+        for (var i = 0; i < words.length; i++) {
+            if ((words[i] & ~other.words[i]) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int size() {
+        var size = 0;
+
+        for (var word : words) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+    /*
+     * Returns the first state id that is greater than or equal
+     * to fromStateId, or -1 if there is none
+     */
+    public int nextStateId(int fromStateId) {
+        var wordIndex = fromStateId >>> 6;
+
+        if (wordIndex >= words.length) {
+            return -1;
+        }
+
+        var word = words[wordIndex] & (-1L << fromStateId);
+
+        while (true) {
+            if (word != 0) {
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+
+            word = words[wordIndex];
+        }
+    }
+
+    public StateSet copy() {
+        return new StateSet(words.clone());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || !(o instanceof StateSet)) {
+            return false;
+        }
+
+        var otherSet = (StateSet) o;
+
+        return hashCode() == otherSet.hashCode() && Arrays.equals(words, otherSet.words);
+    }
+
+    /*
+     * The hash is cached until the set changes, since sets
+     * are mostly used as map keys after being filled
+     */
+    @Override
+    public int hashCode() {
+        if (cachedHashCode == 0) {
+            cachedHashCode = Arrays.hashCode(words);
+        }
+
+        return cachedHashCode;
+    }
+}
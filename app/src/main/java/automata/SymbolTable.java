@@ -0,0 +1,149 @@
+package automata;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import utils.ArrayUtils;
+
+/*
+ * Interns the symbols of an alphabet as dense int ids.
+ *
+ * The ids follow the symbols order, so tables built from the same
+ * alphabet always agree and a sentence tokenized once can be simulated
+ * on any engine built from the same automaton. Symbols are compared
+ * case sensitively, like the keys of TransitionFunction.
+ */
+public class SymbolTable {
+    public static final int NO_ID = -1;
+
+    private final String[] symbols;
+    private final Map<String, Integer> symbolIds;
+    private final int[] characterIds;
+
+    public SymbolTable(Set<String> alphabet) {
+        Objects.requireNonNull(alphabet);
+
+        symbols = alphabet.stream().sorted().toArray(String[]::new);
+        symbolIds = new HashMap<>();
+
+        for (var i = 0; i < symbols.length; i++) {
+            symbolIds.put(symbols[i], i);
+        }
+
+        characterIds = createCharacterIdsTableIfAllSymbolsAreCharacters();
+    }
+
+    /*
+     * When every symbol is a single character, the id of a character c
+     * is characterIds[c], so text can be read without creating strings
+     */
+    private int[] createCharacterIdsTableIfAllSymbolsAreCharacters() {
+        if (symbols.length == 0 || Arrays.stream(symbols).anyMatch(s -> s.length() != 1)) {
+            return null;
+        }
+
+        var greatestCharacter = Arrays.stream(symbols).mapToInt(s -> s.charAt(0)).max().getAsInt();
+        var table = new int[greatestCharacter + 1];
+
+        Arrays.fill(table, NO_ID);
+
+        for (var i = 0; i < symbols.length; i++) {
+            table[symbols[i].charAt(0)] = i;
+        }
+
+        return table;
+    }
+
+    public boolean isACharacterAlphabet() {
+        return characterIds != null;
+    }
+
+    public void throwIfIsNotACharacterAlphabet() {
+        if (!isACharacterAlphabet()) {
+            throw new IllegalStateException("The alphabet has symbols that are not single characters");
+        }
+    }
+
+    /*
+     * Only valid for character alphabets
+     */
+    public int idOf(char character) {
+        return character < characterIds.length ? characterIds[character] : NO_ID;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    public int idOf(String symbol) {
+        var id = symbolIds.get(symbol);
+        return id == null ? NO_ID : id;
+    }
+
+    public String symbolOf(int symbolId) {
+        return symbols[symbolId];
+    }
+
+    public boolean containsId(int symbolId) {
+        return symbolId >= 0 && symbolId < symbols.length;
+    }
+
+    /*
+     * Symbols that are not in the alphabet become NO_ID
+     */
+    public int[] tokenize(String... sentence) {
+        ArrayUtils.throwIfNullOrEmpty(sentence, "sentence");
+
+        var ids = new int[sentence.length];
+
+        for (var i = 0; i < sentence.length; i++) {
+            ids[i] = idOf(sentence[i]);
+        }
+
+        return ids;
+    }
+
+    /*
+     * Tokenizes a text whose symbols are separated by whitespace
+     */
+    public int[] tokenize(CharSequence text) {
+        Objects.requireNonNull(text);
+
+        var ids = new int[countSymbolsIn(text)];
+        var symbolCount = 0;
+        var symbolStart = -1;
+
+        for (var i = 0; i <= text.length(); i++) {
+            var endsASymbol = i == text.length() || Character.isWhitespace(text.charAt(i));
+
+            if (endsASymbol && symbolStart != -1) {
+                ids[symbolCount++] = idOf(text.subSequence(symbolStart, i).toString());
+                symbolStart = -1;
+            } else if (!endsASymbol && symbolStart == -1) {
+                symbolStart = i;
+            }
+        }
+
+        return ids;
+    }
+
+    private static int countSymbolsIn(CharSequence text) {
+        var count = 0;
+        var insideASymbol = false;
+
+        for (var i = 0; i < text.length(); i++) {
+            var isWhitespace = Character.isWhitespace(text.charAt(i));
+
+            if (!isWhitespace && !insideASymbol) {
+                count++;
+            }
+
+            insideASymbol = !isWhitespace;
+        }
+
+        return count;
+    }
+}
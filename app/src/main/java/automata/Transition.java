@@ -5,7 +5,6 @@ import java.util.Set;
 
 import automata.abstractions.BaseState;
 import automata.abstractions.BaseTransition;
-import utils.StringUtils;
 
 public class Transition extends BaseTransition {
     private final BaseState origin;
@@ -14,7 +13,7 @@ public class Transition extends BaseTransition {
 
     public Transition(BaseState origin, String symbol, BaseState... destinations) {
         Objects.requireNonNull(origin);
-        StringUtils.throwIfNullOrEmpty(symbol, "symbol");
+        Objects.requireNonNull(symbol);
 
         this.origin = origin;
         this.symbol = symbol;
@@ -17,7 +17,19 @@ public class TransitionFunction implements ITransitionFunction {
     private final Map<BaseState, Map<String, Set<BaseState>>> transitions;
 
     public TransitionFunction(Set<? extends BaseTransition> transitionSet) {
-        CollectionUtils.throwIfNullOrEmpty(transitionSet, "transitionSet");
+        this(transitionSet, false);
+    }
+
+    /*
+     * FiniteAutomaton needs empty functions for the automata that have no
+     * transitions, like the minimal automaton of the empty language
+     */
+    TransitionFunction(Set<? extends BaseTransition> transitionSet, boolean canBeEmpty) {
+        if (canBeEmpty) {
+            Objects.requireNonNull(transitionSet);
+        } else {
+            CollectionUtils.throwIfNullOrEmpty(transitionSet, "transitionSet");
+        }
 
         this.transitions = new HashMap<>();
 
@@ -49,4 +61,33 @@ public class TransitionFunction implements ITransitionFunction {
 
         return destinationStates;
     }
+
+    /*
+     * Destinations of the epsilon transitions of the origin
+     */
+    @Override
+    public Set<BaseState> whereToGoWithoutReadingASymbol(BaseState origin) {
+        Objects.requireNonNull(origin);
+
+        var possibleSymbols = transitions.get(origin);
+
+        if (possibleSymbols == null) {
+            return Collections.emptySet();
+        }
+
+        return possibleSymbols.getOrDefault(BaseTransition.EPSILON, Collections.emptySet());
+    }
+
+    @Override
+    public Map<String, Set<BaseState>> getTransitionsFrom(BaseState origin) {
+        Objects.requireNonNull(origin);
+
+        var possibleSymbols = transitions.get(origin);
+
+        if (possibleSymbols == null) {
+            return Collections.emptyMap();
+        }
+
+        return Collections.unmodifiableMap(possibleSymbols);
+    }
 }
@@ -0,0 +1,48 @@
+package automata.abstractions;
+
+/*
+ * Symbols from start (inclusive) to end (exclusive)
+ * of a scanned input that the automaton accepts
+ */
+public class AutomatonMatch {
+    private final int start;
+    private final int end;
+
+    public AutomatonMatch(int start, int end) {
+        if (start < 0 || end <= start) {
+            throw new IllegalArgumentException("A match must have a non negative start and an end after it");
+        }
+
+        this.start = start;
+        this.end = end;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || !(o instanceof AutomatonMatch)) {
+            return false;
+        }
+
+        var otherMatch = (AutomatonMatch) o;
+
+        return start == otherMatch.start && end == otherMatch.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * start + end;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + start + ", " + end + ")";
+    }
+}
@@ -3,12 +3,22 @@ package automata.abstractions;
 import java.util.Set;
 
 public abstract class BaseTransition {
+    /*
+     * Symbol of the transitions taken without reading a symbol,
+     * written by JFLAP as an empty <read/> tag
+     */
+    public static final String EPSILON = "";
+
     public abstract String getSymbol();
 
     public abstract Set<BaseState> getDestinations();
 
     public abstract BaseState getOrigin();
 
+    public boolean isAnEpsilonTransition() {
+        return getSymbol().equals(EPSILON);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || !(o instanceof BaseTransition)) {
@@ -0,0 +1,87 @@
+package automata.abstractions;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/*
+ * Limits a conversion stops at instead of growing until the heap is
+ * exhausted. Each with* method returns new limits, so the same limits
+ * can be shared by many conversions.
+ */
+public class ConversionLimits {
+    public static final ConversionLimits NONE = new ConversionLimits(Integer.MAX_VALUE, Long.MAX_VALUE, null, false);
+
+    private final int maximumStates;
+    private final long maximumMemoryInBytes;
+    private final Duration timeLimit;
+    private final boolean fallsBackToLazyAutomaton;
+
+    private ConversionLimits(
+            int maximumStates,
+            long maximumMemoryInBytes,
+            Duration timeLimit,
+            boolean fallsBackToLazyAutomaton) {
+        this.maximumStates = maximumStates;
+        this.maximumMemoryInBytes = maximumMemoryInBytes;
+        this.timeLimit = timeLimit;
+        this.fallsBackToLazyAutomaton = fallsBackToLazyAutomaton;
+    }
+
+    public ConversionLimits withMaximumStates(int maximumStates) {
+        if (maximumStates < 1) {
+            throw new IllegalArgumentException("The maximum number of states must be positive");
+        }
+
+        return new ConversionLimits(maximumStates, maximumMemoryInBytes, timeLimit, fallsBackToLazyAutomaton);
+    }
+
+    /*
+     * The memory used is estimated from the number and size
+     * of the states and transitions created so far
+     */
+    public ConversionLimits withMaximumMemoryInBytes(long maximumMemoryInBytes) {
+        if (maximumMemoryInBytes < 1) {
+            throw new IllegalArgumentException("The maximum memory must be positive");
+        }
+
+        return new ConversionLimits(maximumStates, maximumMemoryInBytes, timeLimit, fallsBackToLazyAutomaton);
+    }
+
+    public ConversionLimits withTimeLimit(Duration timeLimit) {
+        Objects.requireNonNull(timeLimit);
+
+        if (timeLimit.isNegative() || timeLimit.isZero()) {
+            throw new IllegalArgumentException("The time limit must be positive");
+        }
+
+        return new ConversionLimits(maximumStates, maximumMemoryInBytes, timeLimit, fallsBackToLazyAutomaton);
+    }
+
+    /*
+     * When a limit is exceeded the result carries an automaton that
+     * builds its deterministic states on demand instead of none
+     */
+    public ConversionLimits withFallbackToLazyAutomaton() {
+        return new ConversionLimits(maximumStates, maximumMemoryInBytes, timeLimit, true);
+    }
+
+    public int getMaximumStates() {
+        return maximumStates;
+    }
+
+    public long getMaximumMemoryInBytes() {
+        return maximumMemoryInBytes;
+    }
+
+    public boolean hasTimeLimit() {
+        return timeLimit != null;
+    }
+
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
+    public boolean fallsBackToLazyAutomaton() {
+        return fallsBackToLazyAutomaton;
+    }
+}
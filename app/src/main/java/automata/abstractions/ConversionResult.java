@@ -0,0 +1,44 @@
+package automata.abstractions;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Outcome of a conversion with limits. A completed conversion has the
+ * deterministic automaton; one that exceeded a limit only has an
+ * automaton if the limits asked for a lazy fallback.
+ */
+public class ConversionResult {
+    private final ConversionStatus status;
+    private final IFiniteAutomaton automaton;
+    private final ConversionStatistics statistics;
+
+    public ConversionResult(ConversionStatus status, IFiniteAutomaton automaton, ConversionStatistics statistics) {
+        Objects.requireNonNull(status);
+        Objects.requireNonNull(statistics);
+
+        if (status == ConversionStatus.COMPLETED && automaton == null) {
+            throw new IllegalArgumentException("A completed conversion must have an automaton");
+        }
+
+        this.status = status;
+        this.automaton = automaton;
+        this.statistics = statistics;
+    }
+
+    public ConversionStatus getStatus() {
+        return status;
+    }
+
+    public boolean isCompleted() {
+        return status == ConversionStatus.COMPLETED;
+    }
+
+    public Optional<IFiniteAutomaton> getAutomaton() {
+        return Optional.ofNullable(automaton);
+    }
+
+    public ConversionStatistics getStatistics() {
+        return statistics;
+    }
+}
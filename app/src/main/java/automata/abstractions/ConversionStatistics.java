@@ -0,0 +1,74 @@
+package automata.abstractions;
+
+import java.time.Duration;
+
+/*
+ * Snapshot of the progress of a conversion
+ */
+public class ConversionStatistics {
+    private final int discoveredStates;
+    private final int pendingStates;
+    private final long transitions;
+    private final int largestSubsetSize;
+    private final long estimatedMemoryInBytes;
+    private final Duration elapsedTime;
+
+    public ConversionStatistics(
+            int discoveredStates,
+            int pendingStates,
+            long transitions,
+            int largestSubsetSize,
+            long estimatedMemoryInBytes,
+            Duration elapsedTime) {
+        this.discoveredStates = discoveredStates;
+        this.pendingStates = pendingStates;
+        this.transitions = transitions;
+        this.largestSubsetSize = largestSubsetSize;
+        this.estimatedMemoryInBytes = estimatedMemoryInBytes;
+        this.elapsedTime = elapsedTime;
+    }
+
+    public int getDiscoveredStates() {
+        return discoveredStates;
+    }
+
+    /*
+     * States discovered but not explored yet
+     */
+    public int getPendingStates() {
+        return pendingStates;
+    }
+
+    public long getTransitions() {
+        return transitions;
+    }
+
+    /*
+     * Greatest number of source states represented by a single state
+     */
+    public int getLargestSubsetSize() {
+        return largestSubsetSize;
+    }
+
+    public long getEstimatedMemoryInBytes() {
+        return estimatedMemoryInBytes;
+    }
+
+    public Duration getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public double getStatesPerSecond() {
+        var elapsedNanos = elapsedTime.toNanos();
+
+        return elapsedNanos == 0 ? 0 : discoveredStates * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return discoveredStates + " states (" + pendingStates + " pending), "
+                + transitions + " transitions, largest subset with " + largestSubsetSize + " states, ~"
+                + estimatedMemoryInBytes / 1024 + " KB, " + elapsedTime.toMillis() + " ms ("
+                + Math.round(getStatesPerSecond()) + " states/s)";
+    }
+}
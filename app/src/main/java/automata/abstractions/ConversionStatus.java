@@ -0,0 +1,15 @@
+package automata.abstractions;
+
+/*
+ * Why a conversion with limits stopped:
+ * COMPLETED -> every state was built
+ * STATE_LIMIT_EXCEEDED -> more states were discovered than allowed
+ * MEMORY_LIMIT_EXCEEDED -> the estimated memory went over the limit
+ * TIME_LIMIT_EXCEEDED -> the conversion ran for longer than allowed
+ */
+public enum ConversionStatus {
+    COMPLETED,
+    STATE_LIMIT_EXCEEDED,
+    MEMORY_LIMIT_EXCEEDED,
+    TIME_LIMIT_EXCEEDED
+}
@@ -0,0 +1,5 @@
+package automata.abstractions;
+
+public interface IConversionListener {
+    void onProgress(ConversionStatistics statistics);
+}
@@ -9,6 +9,7 @@
 
 package automata.abstractions;
 
+import java.util.List;
 import java.util.Set;
 
 public interface IFiniteAutomaton {
@@ -25,4 +26,8 @@ public interface IFiniteAutomaton {
     boolean isDeterministic();
 
     AutomatonSimulationResult simulate(String... sentence);
+
+    boolean accepts(String... sentence);
+
+    List<AutomatonMatch> findMatches(MatchPolicy policy, String... symbols);
 }
@@ -0,0 +1,24 @@
+package automata.abstractions;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface IFiniteAutomatonAnalyzer {
+    Set<BaseState> getReachableStates(IFiniteAutomaton automaton);
+
+    /*
+     * States from which a final state can be reached
+     */
+    Set<BaseState> getCoReachableStates(IFiniteAutomaton automaton);
+
+    boolean acceptsNothing(IFiniteAutomaton automaton);
+
+    boolean acceptsFinitelyManySentences(IFiniteAutomaton automaton);
+
+    /*
+     * Empty if the automaton accepts nothing; the sentence
+     * itself is empty if the initial state is final
+     */
+    Optional<List<String>> findShortestAcceptedSentence(IFiniteAutomaton automaton);
+}
@@ -0,0 +1,11 @@
+package automata.abstractions;
+
+public interface IFiniteAutomatonComparator {
+    LanguageComparisonResult checkEquivalence(IFiniteAutomaton first, IFiniteAutomaton second);
+
+    /*
+     * Whether every sentence the first automaton accepts
+     * is also accepted by the second one
+     */
+    LanguageComparisonResult checkInclusion(IFiniteAutomaton first, IFiniteAutomaton second);
+}
@@ -0,0 +1,5 @@
+package automata.abstractions;
+
+public interface IFiniteAutomatonMinimizer {
+    IFiniteAutomaton minimize(IFiniteAutomaton automaton);
+}
@@ -0,0 +1,11 @@
+package automata.abstractions;
+
+public interface IFiniteAutomatonOperations {
+    IFiniteAutomaton intersection(IFiniteAutomaton first, IFiniteAutomaton second);
+
+    IFiniteAutomaton union(IFiniteAutomaton first, IFiniteAutomaton second);
+
+    IFiniteAutomaton difference(IFiniteAutomaton first, IFiniteAutomaton second);
+
+    IFiniteAutomaton complement(IFiniteAutomaton automaton);
+}
@@ -0,0 +1,5 @@
+package automata.abstractions;
+
+public interface IRegularExpressionCompiler {
+    IFiniteAutomaton compile(String pattern);
+}
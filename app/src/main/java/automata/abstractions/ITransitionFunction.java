@@ -1,7 +1,17 @@
 package automata.abstractions;
 
+import java.util.Map;
 import java.util.Set;
 
 public interface ITransitionFunction {
     Set<BaseState> whereToGoWith(BaseState origin, String symbol);
+
+    Set<BaseState> whereToGoWithoutReadingASymbol(BaseState origin);
+
+    /*
+     * The destinations of each symbol the origin has transitions with,
+     * BaseTransition.EPSILON included, so the transitions can be visited
+     * without looking up the symbols that have none
+     */
+    Map<String, Set<BaseState>> getTransitionsFrom(BaseState origin);
 }
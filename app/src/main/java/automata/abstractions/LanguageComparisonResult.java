@@ -0,0 +1,37 @@
+package automata.abstractions;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/*
+ * Whether a relation between the languages of two automata holds and,
+ * if it does not, one of the shortest sentences that breaks it. The
+ * counterexample may be empty when only one automaton accepts the
+ * empty sentence.
+ */
+public class LanguageComparisonResult {
+    private final List<String> counterexample;
+
+    private LanguageComparisonResult(List<String> counterexample) {
+        this.counterexample = counterexample;
+    }
+
+    public static LanguageComparisonResult holding() {
+        return new LanguageComparisonResult(null);
+    }
+
+    public static LanguageComparisonResult brokenBy(List<String> counterexample) {
+        Objects.requireNonNull(counterexample);
+
+        return new LanguageComparisonResult(List.copyOf(counterexample));
+    }
+
+    public boolean holds() {
+        return counterexample == null;
+    }
+
+    public Optional<List<String>> getCounterexample() {
+        return Optional.ofNullable(counterexample);
+    }
+}
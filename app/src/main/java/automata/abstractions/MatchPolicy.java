@@ -0,0 +1,12 @@
+package automata.abstractions;
+
+/*
+ * How the matches of a scan are chosen:
+ * LEFTMOST_LONGEST -> from left to right, the longest match of each start
+ * position that is not inside a previous match
+ * ALL_OVERLAPPING -> every (start, end) pair whose symbols are accepted
+ */
+public enum MatchPolicy {
+    LEFTMOST_LONGEST,
+    ALL_OVERLAPPING
+}
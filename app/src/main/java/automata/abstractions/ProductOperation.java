@@ -0,0 +1,13 @@
+package automata.abstractions;
+
+/*
+ * Which sentences a product of two automata accepts:
+ * INTERSECTION -> the ones both automata accept
+ * UNION -> the ones at least one of the automata accepts
+ * DIFFERENCE -> the ones the first automaton accepts and the second does not
+ */
+public enum ProductOperation {
+    INTERSECTION,
+    UNION,
+    DIFFERENCE
+}
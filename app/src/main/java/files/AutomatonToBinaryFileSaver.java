@@ -0,0 +1,93 @@
+package files;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import automata.CompiledDeterministicAutomaton;
+import automata.StateSet;
+import automata.abstractions.IFiniteAutomaton;
+import utils.FileUtils;
+import utils.StringUtils;
+
+/*
+ * Saves the compiled tables of a deterministic automaton in the layout
+ * described by BinaryAutomatonFormat, so loading it needs no parsing
+ * and no deterministic check. Non deterministic automata must be
+ * converted first.
+ */
+public class AutomatonToBinaryFileSaver implements IAutomatonToBinaryFileSaver {
+    @Override
+    public void saveToFile(IFiniteAutomaton automaton, String fileName) throws IOException {
+        Objects.requireNonNull(automaton);
+        StringUtils.throwIfNullOrEmpty(fileName, "fileName");
+        FileUtils.throwIfFileNameDoesNotHaveSpecificExtension(fileName, BinaryAutomatonFormat.EXTENSION);
+
+        var compiled = automaton instanceof CompiledDeterministicAutomaton
+                ? (CompiledDeterministicAutomaton) automaton
+                : new CompiledDeterministicAutomaton(automaton);
+
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(Path.of(fileName))))) {
+            writeHeader(output, compiled);
+            writeStrings(output, compiled);
+            writeAcceptingStates(output, compiled);
+            writeNextStates(output, compiled);
+        }
+    }
+
+    private static void writeHeader(DataOutputStream output, CompiledDeterministicAutomaton compiled)
+            throws IOException {
+        output.writeInt(BinaryAutomatonFormat.MAGIC);
+        output.writeInt(BinaryAutomatonFormat.VERSION);
+        output.writeInt(compiled.getStateCount());
+        output.writeInt(compiled.getSymbolCount());
+    }
+
+    private static void writeStrings(DataOutputStream output, CompiledDeterministicAutomaton compiled)
+            throws IOException {
+        for (var symbolId = 0; symbolId < compiled.getSymbolCount(); symbolId++) {
+            writeString(output, compiled.getSymbolTable().symbolOf(symbolId));
+        }
+
+        for (var stateId = 0; stateId < compiled.getStateCount(); stateId++) {
+            writeString(output, compiled.getStateById(stateId).getIdentifier());
+        }
+
+        output.write(new byte[BinaryAutomatonFormat.paddingAfter(output.size())]);
+    }
+
+    private static void writeString(DataOutputStream output, String text) throws IOException {
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeAcceptingStates(DataOutputStream output, CompiledDeterministicAutomaton compiled)
+            throws IOException {
+        var words = new long[StateSet.wordsNeededFor(compiled.getStateCount())];
+
+        for (var stateId = 0; stateId < compiled.getStateCount(); stateId++) {
+            if (compiled.isAcceptingStateId(stateId)) {
+                words[stateId >>> 6] |= 1L << stateId;
+            }
+        }
+
+        for (var word : words) {
+            output.writeLong(word);
+        }
+    }
+
+    private static void writeNextStates(DataOutputStream output, CompiledDeterministicAutomaton compiled)
+            throws IOException {
+        for (var stateId = 0; stateId < compiled.getStateCount(); stateId++) {
+            for (var symbolId = 0; symbolId < compiled.getSymbolCount(); symbolId++) {
+                output.writeInt(compiled.nextStateOf(stateId, symbolId));
+            }
+        }
+    }
+}
@@ -1,19 +1,46 @@
 package files;
 
 import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 
+import automata.abstractions.BaseState;
 import automata.abstractions.IFiniteAutomaton;
 import utils.FileUtils;
 import utils.StringUtils;
 
+/*
+ * Streams the file through one large buffered writer, writing each
+ * piece of a line directly instead of concatenating it first. The
+ * transitions are visited through getTransitionsFrom, so the time spent
+ * is proportional to the number of transitions and not to states x
+ * alphabet.
+ *
+ * JFLAP needs the <x> and <y> of each state to draw it, so they are
+ * written as a constant by default; use the constructor that omits them
+ * when the file is only read by parsers.
+ */
 public class AutomatonToJffFileSaver implements IAutomatonToJffFileSaver {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String STATE_LAYOUT = "\t\t<x>0.00</x>\n\t\t<y>0.00</y>\n";
+
+    private final boolean writesStateLayout;
     private IFiniteAutomaton automatonToSave;
     private String saveAtFileName;
     private BufferedWriter fileWriter;
 
+    public AutomatonToJffFileSaver() {
+        this(true);
+    }
+
+    public AutomatonToJffFileSaver(boolean writesStateLayout) {
+        this.writesStateLayout = writesStateLayout;
+    }
+
     @Override
     public void saveToFile(IFiniteAutomaton automaton, String fileName) throws IOException {
         Objects.requireNonNull(automaton);
@@ -24,46 +51,48 @@ public class AutomatonToJffFileSaver implements IAutomatonToJffFileSaver {
         saveAtFileName = fileName;
 
         createFileAndSetWriter();
-        writeHeadersAndBasicTagsToFile();
-        writeAutomatonStatesToFile();
-        writeAutomatonTransitionsToFile();
-        closeBasicTagsAtTheEnd();
-        flushContentToFileAndCloseWriter();
-    }
 
-    private void createFileAndSetWriter() throws IOException {
-        fileWriter = new BufferedWriter(new FileWriter(saveAtFileName));
+        try {
+            writeHeadersAndBasicTagsToFile();
+            writeAutomatonStatesToFile();
+            writeAutomatonTransitionsToFile();
+            closeBasicTagsAtTheEnd();
+        } finally {
+            flushContentToFileAndCloseWriter();
+        }
     }
 
-    private void writeToFile(String content, boolean addNewLineAfter) throws IOException {
-        fileWriter.append(content);
-        fileWriter.newLine();
-    }
+    private void createFileAndSetWriter() throws IOException {
+        var output = Files.newOutputStream(Path.of(saveAtFileName));
 
-    private void writeToFileThenAddNewLine(String content) throws IOException {
-        writeToFile(content, true);
+        fileWriter = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
     }
 
     private void writeHeadersAndBasicTagsToFile() throws IOException {
-        writeToFileThenAddNewLine("<structure>");
-        writeToFileThenAddNewLine("\t<type>fa</type>");
+        fileWriter.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        fileWriter.write("<structure>\n");
+        fileWriter.write("\t<type>fa</type>\n");
     }
 
     private void writeAutomatonStatesToFile() throws IOException {
         for (var state : automatonToSave.getAllStates()) {
-            writeToFileThenAddNewLine("\t<state id=\"" + state.getIdentifier() + "\">");
-            writeToFileThenAddNewLine("\t\t<x>0.00</x>");
-            writeToFileThenAddNewLine("\t\t<y>0.00</y>");
+            fileWriter.write("\t<state id=\"");
+            writeEscaped(state.getIdentifier());
+            fileWriter.write("\">\n");
+
+            if (writesStateLayout) {
+                fileWriter.write(STATE_LAYOUT);
+            }
 
             if (state.isTheInitialState()) {
-                writeToFileThenAddNewLine("\t\t<initial/>");
+                fileWriter.write("\t\t<initial/>\n");
             }
 
             if (state.isAFinalState()) {
-                writeToFileThenAddNewLine("\t\t<final/>");
+                fileWriter.write("\t\t<final/>\n");
             }
 
-            writeToFileThenAddNewLine("\t</state>");
+            fileWriter.write("\t</state>\n");
         }
     }
 
@@ -71,22 +100,69 @@ public class AutomatonToJffFileSaver implements IAutomatonToJffFileSaver {
         var transitionFunction = automatonToSave.getTransitionFunction();
 
         for (var state : automatonToSave.getAllStates()) {
-            for (var symbol : automatonToSave.getAlphabet()) {
-                var whereToGo = transitionFunction.whereToGoWith(state, symbol);
-
-                for (var destination : whereToGo) {
-                    writeToFileThenAddNewLine("\t<transition>");
-                    writeToFileThenAddNewLine("\t\t<from>" + state.getIdentifier() + "</from>");
-                    writeToFileThenAddNewLine("\t\t<to>" + destination.getIdentifier() + "</to>");
-                    writeToFileThenAddNewLine("\t\t<read>" + symbol + "</read>");
-                    writeToFileThenAddNewLine("\t</transition>");
+            for (var transitions : transitionFunction.getTransitionsFrom(state).entrySet()) {
+                for (var destination : transitions.getValue()) {
+                    writeTransitionToFile(state, transitions.getKey(), destination);
                 }
             }
         }
     }
 
+    private void writeTransitionToFile(BaseState origin, String symbol, BaseState destination)
+            throws IOException {
+        fileWriter.write("\t<transition>\n\t\t<from>");
+        writeEscaped(origin.getIdentifier());
+        fileWriter.write("</from>\n\t\t<to>");
+        writeEscaped(destination.getIdentifier());
+        fileWriter.write("</to>\n\t\t");
+
+        if (symbol.isEmpty()) {
+            fileWriter.write("<read/>");
+        } else {
+            fileWriter.write("<read>");
+            writeEscaped(symbol);
+            fileWriter.write("</read>");
+        }
+
+        fileWriter.write("\n\t</transition>\n");
+    }
+
+    /*
+     * Writes the text as is unless it has a character XML reserves
+     */
+    private void writeEscaped(String text) throws IOException {
+        var start = 0;
+
+        for (var i = 0; i < text.length(); i++) {
+            var escaped = escapeOf(text.charAt(i));
+
+            if (escaped != null) {
+                fileWriter.write(text, start, i - start);
+                fileWriter.write(escaped);
+                start = i + 1;
+            }
+        }
+
+        fileWriter.write(text, start, text.length() - start);
+    }
+
+    private static String escapeOf(char character) {
+        switch (character) {
+            case '<':
+                return "&lt;";
+            case '>':
+                return "&gt;";
+            case '&':
+                return "&amp;";
+            case '"':
+                return "&quot;";
+            default:
+                return null;
+        }
+    }
+
     private void closeBasicTagsAtTheEnd() throws IOException {
-        writeToFile("</structure>", false);
+        fileWriter.write("</structure>\n");
     }
 
     private void flushContentToFileAndCloseWriter() throws IOException {
@@ -0,0 +1,139 @@
+package files;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import automata.CompiledDeterministicAutomaton;
+import automata.State;
+import automata.StateSet;
+import automata.SymbolTable;
+import automata.abstractions.BaseState;
+import utils.FileUtils;
+
+/*
+ * Maps a file written by AutomatonToBinaryFileSaver and runs the
+ * automaton directly on the mapped table and bitset: only the symbols
+ * and the state identifiers are decoded, so loading is O(states +
+ * symbols) whatever the size of the table.
+ *
+ * The header and the sizes are checked, but the table entries are not,
+ * since that would read the whole file; a file that was changed by
+ * hand can fail later with an IndexOutOfBoundsException.
+ */
+public class BinaryAutomatonFileLoader implements IBinaryAutomatonFileLoader {
+    @Override
+    public CompiledDeterministicAutomaton loadFile(Path path) throws FileNotFoundException {
+        FileUtils.throwIfFileDoesNotExistAt(path);
+
+        ByteBuffer bytes;
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The file at path " + path + " is too large to be mapped");
+            }
+
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            return readAutomaton(bytes, path);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("The file at path " + path + " is truncated", e);
+        }
+    }
+
+    private static CompiledDeterministicAutomaton readAutomaton(ByteBuffer bytes, Path path) {
+        if (bytes.getInt() != BinaryAutomatonFormat.MAGIC) {
+            throw new IllegalArgumentException("The file at path " + path + " is not a binary automaton file");
+        }
+
+        var version = bytes.getInt();
+
+        if (version != BinaryAutomatonFormat.VERSION) {
+            throw new IllegalArgumentException("The file at path " + path + " has the unsupported version " + version);
+        }
+
+        var stateCount = bytes.getInt();
+        var symbolCount = bytes.getInt();
+        var tableSize = (long) stateCount * symbolCount;
+
+        if (stateCount <= 0 || symbolCount < 0 || tableSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The file at path " + path + " has an invalid header");
+        }
+
+        var symbolTable = readSymbolTable(bytes, symbolCount, path);
+        var states = new BaseState[stateCount];
+
+        for (var stateId = 0; stateId < stateCount; stateId++) {
+            states[stateId] = new State(readString(bytes));
+        }
+
+        bytes.position(bytes.position() + BinaryAutomatonFormat.paddingAfter(bytes.position()));
+
+        var acceptingStatesSize = StateSet.wordsNeededFor(stateCount) * Long.BYTES;
+        var nextStatesSize = tableSize * Integer.BYTES;
+
+        if (bytes.remaining() != acceptingStatesSize + nextStatesSize) {
+            throw new IllegalArgumentException("The file at path " + path + " does not have the size its header says");
+        }
+
+        // both sizes add up to the remaining bytes, so they fit in an int
+        var acceptingStates = bytes.slice(bytes.position(), acceptingStatesSize).asLongBuffer();
+        var nextStates = bytes.slice(bytes.position() + acceptingStatesSize, (int) nextStatesSize).asIntBuffer();
+        var automaton = new CompiledDeterministicAutomaton(states, symbolTable, nextStates, acceptingStates);
+
+        states[automaton.getInitialStateId()].setIfIsTheInitialState(true);
+
+        for (var stateId = 0; stateId < stateCount; stateId++) {
+            states[stateId].setIfIsAFinalState(automaton.isAcceptingStateId(stateId));
+        }
+
+        return automaton;
+    }
+
+    /*
+     * The symbols are saved in SymbolTable order, so a table built from
+     * them gives each one the id the next states table was saved with
+     */
+    private static SymbolTable readSymbolTable(ByteBuffer bytes, int symbolCount, Path path) {
+        var symbols = new String[symbolCount];
+
+        for (var symbolId = 0; symbolId < symbolCount; symbolId++) {
+            symbols[symbolId] = readString(bytes);
+        }
+
+        var symbolTable = new SymbolTable(new HashSet<>(Arrays.asList(symbols)));
+
+        for (var symbolId = 0; symbolId < symbolCount; symbolId++) {
+            if (symbolTable.idOf(symbols[symbolId]) != symbolId) {
+                throw new IllegalArgumentException("The file at path " + path + " has its symbols out of order");
+            }
+        }
+
+        return symbolTable;
+    }
+
+    private static String readString(ByteBuffer bytes) {
+        var length = bytes.getInt();
+
+        if (length < 0 || length > bytes.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        var stringBytes = new byte[length];
+        bytes.get(stringBytes);
+
+        return new String(stringBytes, StandardCharsets.UTF_8);
+    }
+}
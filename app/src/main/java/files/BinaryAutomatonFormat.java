@@ -0,0 +1,28 @@
+package files;
+
+/*
+ * Layout of the binary files of compiled automata, every number big
+ * endian:
+ *
+ * int magic, int version, int state count, int symbol count
+ * the symbols in SymbolTable order, then the state identifiers in id
+ * order, each one as an int length followed by its UTF-8 bytes
+ * zeros up to a multiple of 8 bytes
+ * the accepting states bitset, one long per 64 states
+ * the next states table, state count x symbol count ints
+ *
+ * The version changes whenever the layout does, so old files are
+ * rejected instead of misread.
+ */
+class BinaryAutomatonFormat {
+    static final int MAGIC = 0x41555441;
+    static final int VERSION = 1;
+    static final String EXTENSION = ".dfa";
+
+    private BinaryAutomatonFormat() {
+    }
+
+    static int paddingAfter(long position) {
+        return (int) ((8 - position % 8) % 8);
+    }
+}
@@ -0,0 +1,43 @@
+package files;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import automata.abstractions.IFiniteAutomaton;
+
+/*
+ * The automata of the files that loaded and the error of each file that
+ * did not, both sorted by path
+ */
+public class DirectoryLoadResult {
+    private final Map<Path, IFiniteAutomaton> automata;
+    private final Map<Path, Exception> failures;
+    private final int reusedFileCount;
+
+    public DirectoryLoadResult(Map<Path, IFiniteAutomaton> automata, Map<Path, Exception> failures, int reusedFileCount) {
+        this.automata = Collections.unmodifiableMap(automata);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.reusedFileCount = reusedFileCount;
+    }
+
+    public Map<Path, IFiniteAutomaton> getAutomata() {
+        return automata;
+    }
+
+    public Map<Path, Exception> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /*
+     * How many of the loaded automata came from the cache because their
+     * files did not change since the previous load
+     */
+    public int getReusedFileCount() {
+        return reusedFileCount;
+    }
+}
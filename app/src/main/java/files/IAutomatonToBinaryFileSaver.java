@@ -0,0 +1,9 @@
+package files;
+
+import java.io.IOException;
+
+import automata.abstractions.IFiniteAutomaton;
+
+public interface IAutomatonToBinaryFileSaver {
+    void saveToFile(IFiniteAutomaton automaton, String fileName) throws IOException;
+}
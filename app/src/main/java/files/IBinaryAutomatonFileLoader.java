@@ -0,0 +1,10 @@
+package files;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+
+import automata.CompiledDeterministicAutomaton;
+
+public interface IBinaryAutomatonFileLoader {
+    CompiledDeterministicAutomaton loadFile(Path path) throws FileNotFoundException;
+}
@@ -0,0 +1,8 @@
+package files;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+
+public interface IJffDirectoryLoader {
+    DirectoryLoadResult loadDirectory(Path directory) throws FileNotFoundException;
+}
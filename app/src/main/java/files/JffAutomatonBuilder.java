@@ -0,0 +1,61 @@
+package files;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import automata.FiniteAutomaton;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+
+/*
+ * Collects the states and transitions read from a JFF file. States are
+ * indexed by identifier (ignoring case, like state equality) when they
+ * are added, so each transition end is resolved in O(1).
+ */
+class JffAutomatonBuilder {
+    private final Map<String, BaseState> statesByIdentifier = new HashMap<>();
+    private final Set<BaseTransition> transitions = new HashSet<>();
+
+    BaseState addState(String identifier) {
+        var state = new State(identifier);
+
+        statesByIdentifier.put(keyOf(identifier), state);
+
+        return state;
+    }
+
+    void addTransition(String originIdentifier, String symbol, String destinationIdentifier) {
+        var origin = getStateByIdentifier(originIdentifier);
+        var destination = getStateByIdentifier(destinationIdentifier);
+
+        transitions.add(new Transition(origin, symbol, destination));
+    }
+
+    IFiniteAutomaton build() {
+        return new FiniteAutomaton(transitions);
+    }
+
+    private BaseState getStateByIdentifier(String identifier) {
+        if (identifier == null) {
+            throw new IllegalArgumentException("A transition is missing its <from> or <to>");
+        }
+
+        var state = statesByIdentifier.get(keyOf(identifier));
+
+        if (state == null) {
+            throw new IllegalArgumentException("A transition refers to the unknown state " + identifier);
+        }
+
+        return state;
+    }
+
+    private static String keyOf(String identifier) {
+        return identifier.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,232 @@
+package files;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import automata.abstractions.IFiniteAutomaton;
+import utils.FileUtils;
+
+/*
+ * Loads every .jff file under a directory, parsing each file as its own
+ * task on the given executor, so the executor bounds how many files are
+ * parsed at once. The executor belongs to the caller, who shuts it
+ * down; a fixed thread pool is a good choice. A file or a subdirectory
+ * that fails is reported with its error and does not stop the others.
+ *
+ * The automata are cached by path along with the size and the last
+ * modified time of their files; a file whose size and time did not
+ * change since the previous load is not parsed again. The parser must
+ * be safe to call from many threads, like JffFileParser.
+ */
+public class JffDirectoryLoader implements IJffDirectoryLoader {
+    private final IJffFileParser parser;
+    private final ExecutorService executor;
+    private final Map<Path, CachedAutomaton> cache = new ConcurrentHashMap<>();
+
+    private static class CachedAutomaton {
+        private final long size;
+        private final FileTime lastModifiedTime;
+        private final IFiniteAutomaton automaton;
+
+        private CachedAutomaton(BasicFileAttributes attributes, IFiniteAutomaton automaton) {
+            this.size = attributes.size();
+            this.lastModifiedTime = attributes.lastModifiedTime();
+            this.automaton = automaton;
+        }
+
+        private boolean isUpToDateWith(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+    }
+
+    private static class FileLoad {
+        private final Path path;
+        private final IFiniteAutomaton automaton;
+        private final Exception failure;
+        private final boolean wasReused;
+
+        private FileLoad(Path path, IFiniteAutomaton automaton, Exception failure, boolean wasReused) {
+            this.path = path;
+            this.automaton = automaton;
+            this.failure = failure;
+            this.wasReused = wasReused;
+        }
+    }
+
+    private static class FoundFiles extends SimpleFileVisitor<Path> {
+        private final List<Path> paths = new ArrayList<>();
+        private final Map<Path, Exception> failures = new TreeMap<>();
+
+        @Override
+        public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+            if (attributes.isRegularFile() && path.getFileName().toString().endsWith(".jff")) {
+                paths.add(path);
+            }
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path path, IOException e) {
+            failures.put(path, e);
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path directory, IOException e) {
+            if (e != null) {
+                failures.put(directory, e);
+            }
+
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    public JffDirectoryLoader(ExecutorService executor) {
+        this(new JffFileParser(), executor);
+    }
+
+    public JffDirectoryLoader(IJffFileParser parser, ExecutorService executor) {
+        Objects.requireNonNull(parser);
+        Objects.requireNonNull(executor);
+
+        this.parser = parser;
+        this.executor = executor;
+    }
+
+    @Override
+    public DirectoryLoadResult loadDirectory(Path directory) throws FileNotFoundException {
+        FileUtils.throwIfFileDoesNotExistAt(directory);
+
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("The path " + directory + " is not a directory");
+        }
+
+        var root = directory.toAbsolutePath().normalize();
+        var foundFiles = findJffFiles(root);
+        var loads = loadFiles(foundFiles.paths);
+
+        forgetFilesThatAreGone(root, foundFiles.paths);
+
+        return createResult(loads, foundFiles.failures);
+    }
+
+    private static FoundFiles findJffFiles(Path root) {
+        var foundFiles = new FoundFiles();
+
+        try {
+            Files.walkFileTree(root, foundFiles);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return foundFiles;
+    }
+
+    private List<FileLoad> loadFiles(List<Path> paths) {
+        var tasks = new ArrayList<Callable<FileLoad>>(paths.size());
+
+        for (var path : paths) {
+            tasks.add(() -> loadFile(path));
+        }
+
+        List<Future<FileLoad>> futures;
+
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the files", e);
+        }
+
+        var loads = new ArrayList<FileLoad>(futures.size());
+
+        for (var future : futures) {
+            loads.add(resultOf(future));
+        }
+
+        return loads;
+    }
+
+    /*
+     * invokeAll waits for every task, so the futures are done; loadFile
+     * catches the failures of a file, so only errors are left to rethrow
+     */
+    private static FileLoad resultOf(Future<FileLoad> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private FileLoad loadFile(Path path) {
+        try {
+            var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            var cached = cache.get(path);
+
+            if (cached != null && cached.isUpToDateWith(attributes)) {
+                return new FileLoad(path, cached.automaton, null, true);
+            }
+
+            // the attributes are read before parsing, so a file changed meanwhile is parsed again next time
+            var automaton = parser.parseFile(path);
+            cache.put(path, new CachedAutomaton(attributes, automaton));
+
+            return new FileLoad(path, automaton, null, false);
+        } catch (IOException | RuntimeException e) {
+            cache.remove(path);
+
+            return new FileLoad(path, null, e, false);
+        }
+    }
+
+    private void forgetFilesThatAreGone(Path root, List<Path> paths) {
+        var foundPaths = new HashSet<>(paths);
+
+        cache.keySet().removeIf(path -> path.startsWith(root) && !foundPaths.contains(path));
+    }
+
+    private static DirectoryLoadResult createResult(List<FileLoad> loads, Map<Path, Exception> walkFailures) {
+        var automata = new TreeMap<Path, IFiniteAutomaton>();
+        var failures = new TreeMap<Path, Exception>(walkFailures);
+        var reusedFileCount = 0;
+
+        for (var load : loads) {
+            if (load.failure != null) {
+                failures.put(load.path, load.failure);
+            } else {
+                automata.put(load.path, load.automaton);
+                reusedFileCount += load.wasReused ? 1 : 0;
+            }
+        }
+
+        return new DirectoryLoadResult(automata, failures, reusedFileCount);
+    }
+}
@@ -1,131 +1,135 @@
 package files;
 
+import java.io.BufferedInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
-
-import automata.FiniteAutomaton;
-import automata.State;
-import automata.Transition;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 import automata.abstractions.BaseState;
 import automata.abstractions.BaseTransition;
 import automata.abstractions.IFiniteAutomaton;
 import utils.FileUtils;
 
+/*
+ * Reads the file in a single pass with a streaming XML reader, so the
+ * layout of the tags does not matter and nothing but the states and
+ * transitions is kept in memory.
+ *
+ * Each <from> and <to> is resolved in O(1) by JffAutomatonBuilder, and
+ * an empty <read/> is an epsilon transition. Everything a parse uses is
+ * local to it, so one parser can be shared by many threads.
+ */
 public class JffFileParser implements IJffFileParser {
-    private boolean aTagIsOpen;
-    private List<String> tagRelatedLines;
-    private BaseState lastAddedState;
-    private Set<BaseState> states;
-    private Set<BaseTransition> transitions;
+    private static final XMLInputFactory xmlInputFactory = createXmlInputFactory();
+
+    private static class Parsing {
+        private final JffAutomatonBuilder builder = new JffAutomatonBuilder();
+        private BaseState currentState;
+        private String origin;
+        private String destination;
+        private String symbol;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var factory = XMLInputFactory.newInstance();
+
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        return factory;
+    }
 
     @Override
     public IFiniteAutomaton parseFile(Path path) throws FileNotFoundException {
         FileUtils.throwIfFileDoesNotExistAt(path);
 
-        try {
-            var iterator = Files.lines(path).iterator();
+        var parsing = new Parsing();
+
+        try (var input = new BufferedInputStream(Files.newInputStream(path))) {
+            var reader = xmlInputFactory.createXMLStreamReader(input);
 
-            walkThroughtFileLinesExtractingInformation(iterator);
+            try {
+                readElements(reader, parsing);
+            } finally {
+                reader.close();
+            }
         } catch (IOException e) {
-            System.out.println("e: " + e);
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("The file at path " + path + " is not valid XML: " + e.getMessage(), e);
         }
 
-        return new FiniteAutomaton(transitions);
+        return parsing.builder.build();
     }
 
-    private void walkThroughtFileLinesExtractingInformation(Iterator<String> lines) {
-        aTagIsOpen = false;
-        tagRelatedLines = new ArrayList<>();
-        states = new HashSet<>();
-        transitions = new HashSet<>();
+    private static void readElements(XMLStreamReader reader, Parsing parsing) throws XMLStreamException {
+        while (reader.hasNext()) {
+            var event = reader.next();
 
-        while (lines.hasNext()) {
-            handleFileLine(lines.next());
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                handleOpeningTag(reader, parsing);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                handleClosingTag(reader.getLocalName(), parsing);
+            }
         }
     }
 
-    private void handleFileLine(String line) {
-        if (line.contains("<state")) {
-            handleOpeningStateTagOnLine(line);
-            lineContainsAnOpenTag();
-        } else if (line.contains("</state")) {
-            handleClosingStateTagOnLine(line);
-            lineContainsACloseTag();
-        } else if (line.contains("<transition")) {
-            lineContainsAnOpenTag();
-        } else if (line.contains("</transition")) {
-            handleClosingTransitionTag();
-            lineContainsACloseTag();
-        } else if (aTagIsOpen) {
-            tagRelatedLines.add(line);
+    private static void handleOpeningTag(XMLStreamReader reader, Parsing parsing) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "state":
+                handleOpeningStateTag(reader, parsing);
+                break;
+            case "initial":
+                if (parsing.currentState != null) {
+                    parsing.currentState.setIfIsTheInitialState(true);
+                }
+                break;
+            case "final":
+                if (parsing.currentState != null) {
+                    parsing.currentState.setIfIsAFinalState(true);
+                }
+                break;
+            case "transition":
+                parsing.origin = null;
+                parsing.destination = null;
+                parsing.symbol = BaseTransition.EPSILON;
+                break;
+            case "from":
+                parsing.origin = reader.getElementText().trim();
+                break;
+            case "to":
+                parsing.destination = reader.getElementText().trim();
+                break;
+            case "read":
+                parsing.symbol = reader.getElementText().trim();
+                break;
+            default:
+                break;
         }
     }
 
-    private void lineContainsAnOpenTag() {
-        aTagIsOpen = true;
-    }
+    private static void handleOpeningStateTag(XMLStreamReader reader, Parsing parsing) {
+        var identifier = reader.getAttributeValue(null, "id");
 
-    private void lineContainsACloseTag() {
-        if (aTagIsOpen) {
-            aTagIsOpen = false;
-            tagRelatedLines.clear();
+        if (identifier == null) {
+            throw new IllegalArgumentException("A state has no id at line " + reader.getLocation().getLineNumber());
         }
-    }
 
-    private String getTagContent(String line) {
-        var endOfLeftSide = line.indexOf(">");
-        var startOfRightSide = line.indexOf("<", endOfLeftSide);
-        return line.substring(endOfLeftSide + 1, startOfRightSide).trim();
+        parsing.currentState = parsing.builder.addState(identifier);
     }
 
-    private Optional<BaseState> getStateByIdentifier(String identifier) {
-        return states.stream()
-                .filter(s -> s.getIdentifier().compareToIgnoreCase(identifier) == 0)
-                .findFirst();
-    }
-
-    private void handleOpeningStateTagOnLine(String line) {
-        var firstDoubleQuoteIndex = line.indexOf("\"");
-        var lastDoubleQuoteIndex = line.indexOf("\"", firstDoubleQuoteIndex + 1);
-        var id = line.substring(firstDoubleQuoteIndex + 1, lastDoubleQuoteIndex);
-
-        lastAddedState = new State(id);
-        states.add(lastAddedState);
-    }
-
-    private void handleClosingStateTagOnLine(String line) {
-        if (tagRelatedLines.stream().anyMatch(l -> l.contains("initial"))) {
-            lastAddedState.setIfIsTheInitialState(true);
-        } else if (tagRelatedLines.stream().anyMatch(l -> l.contains("final"))) {
-            lastAddedState.setIfIsAFinalState(true);
-        }
-    }
-
-    private void handleClosingTransitionTag() {
-        String symbol = null;
-        BaseState origin = null, destination = null;
-
-        for (var line : tagRelatedLines) {
-            var tagContent = getTagContent(line);
-
-            if (line.contains("from")) {
-                origin = getStateByIdentifier(tagContent).orElseThrow();
-            } else if (line.contains("to")) {
-                destination = getStateByIdentifier(tagContent).orElseThrow();
-            } else if (line.contains("read")) {
-                symbol = tagContent;
-            }
+    private static void handleClosingTag(String tagName, Parsing parsing) {
+        if (tagName.equals("state")) {
+            parsing.currentState = null;
+        } else if (tagName.equals("transition")) {
+            parsing.builder.addTransition(parsing.origin, parsing.symbol, parsing.destination);
         }
-
-        var newTransition = new Transition(origin, symbol, destination);
-        transitions.add(newTransition);
     }
 }
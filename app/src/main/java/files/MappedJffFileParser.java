@@ -0,0 +1,404 @@
+package files;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import automata.abstractions.BaseState;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import utils.FileUtils;
+
+/*
+ * For files of hundreds of megabytes: the file is mapped into memory and
+ * the tags are found by scanning its bytes, so the file is never copied
+ * into the heap, no XML events are created and only the state
+ * identifiers and the symbols become Strings.
+ *
+ * It understands the subset of XML that JFLAP writes: comments,
+ * processing instructions, the predefined entities (&lt; &gt; &amp;
+ * &quot; &apos;) and numeric character references (&#60; &#x3C;) are
+ * handled, but CDATA sections and DTDs are rejected instead of being read
+ * wrongly. Use JffFileParser for files that need them. Files must be UTF-8 and
+ * smaller than 2 GB, the largest region that can be mapped at once.
+ */
+public class MappedJffFileParser implements IJffFileParser {
+    private static final byte[] STATE = bytesOf("state");
+    private static final byte[] INITIAL = bytesOf("initial");
+    private static final byte[] FINAL = bytesOf("final");
+    private static final byte[] TRANSITION = bytesOf("transition");
+    private static final byte[] FROM = bytesOf("from");
+    private static final byte[] TO = bytesOf("to");
+    private static final byte[] READ = bytesOf("read");
+    private static final byte[] ID = bytesOf("id");
+
+    private static class Parsing {
+        private final ByteBuffer bytes;
+        private final int length;
+        private final JffAutomatonBuilder builder = new JffAutomatonBuilder();
+        private byte[] decodingBuffer = new byte[64];
+        private BaseState currentState;
+        private String origin;
+        private String destination;
+        private String symbol;
+
+        private Parsing(ByteBuffer bytes) {
+            this.bytes = bytes;
+            this.length = bytes.limit();
+        }
+
+        private IllegalArgumentException error(String message, int position) {
+            return new IllegalArgumentException(message + " at byte " + position);
+        }
+    }
+
+    private static byte[] bytesOf(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public IFiniteAutomaton parseFile(Path path) throws FileNotFoundException {
+        FileUtils.throwIfFileDoesNotExistAt(path);
+
+        ByteBuffer bytes;
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The file at path " + path + " is too large to be mapped");
+            }
+
+            // the mapping stays valid after the channel is closed
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var parsing = new Parsing(bytes);
+
+        readTags(parsing);
+
+        return parsing.builder.build();
+    }
+
+    private static void readTags(Parsing parsing) {
+        var position = indexOf(parsing, '<', 0);
+
+        while (position != -1) {
+            position = readTagAt(parsing, position);
+            position = indexOf(parsing, '<', position);
+        }
+    }
+
+    /*
+     * Reads the tag that starts at the given '<' and returns where the
+     * scan continues
+     */
+    private static int readTagAt(Parsing parsing, int start) {
+        if (startsWith(parsing, start, "<!--")) {
+            return skipPast(parsing, start, "-->");
+        }
+
+        if (startsWith(parsing, start, "<![CDATA[")) {
+            throw parsing.error("CDATA sections are not supported", start);
+        }
+
+        if (startsWith(parsing, start, "<!DOCTYPE")) {
+            throw parsing.error("DTDs are not supported", start);
+        }
+
+        if (startsWith(parsing, start, "<?") || startsWith(parsing, start, "<!")) {
+            return skipPast(parsing, start, ">");
+        }
+
+        var isClosing = byteAt(parsing, start + 1) == '/';
+        var nameStart = isClosing ? start + 2 : start + 1;
+        var nameEnd = nameStart;
+
+        while (nameEnd < parsing.length && !endsTheName(byteAt(parsing, nameEnd))) {
+            nameEnd++;
+        }
+
+        var end = indexOf(parsing, '>', nameEnd);
+
+        if (end == -1) {
+            throw parsing.error("Unclosed tag", start);
+        }
+
+        var isEmpty = byteAt(parsing, end - 1) == '/';
+
+        if (isClosing) {
+            handleClosingTag(parsing, nameStart, nameEnd);
+        } else {
+            handleOpeningTag(parsing, nameStart, nameEnd, end, isEmpty);
+        }
+
+        return end + 1;
+    }
+
+    private static void handleOpeningTag(Parsing parsing, int nameStart, int nameEnd, int end, boolean isEmpty) {
+        if (nameEquals(parsing, nameStart, nameEnd, STATE)) {
+            parsing.currentState = parsing.builder.addState(readIdAttribute(parsing, nameEnd, end));
+
+            if (isEmpty) {
+                parsing.currentState = null;
+            }
+        } else if (nameEquals(parsing, nameStart, nameEnd, INITIAL)) {
+            if (parsing.currentState != null) {
+                parsing.currentState.setIfIsTheInitialState(true);
+            }
+        } else if (nameEquals(parsing, nameStart, nameEnd, FINAL)) {
+            if (parsing.currentState != null) {
+                parsing.currentState.setIfIsAFinalState(true);
+            }
+        } else if (nameEquals(parsing, nameStart, nameEnd, TRANSITION)) {
+            parsing.origin = null;
+            parsing.destination = null;
+            parsing.symbol = BaseTransition.EPSILON;
+        } else if (nameEquals(parsing, nameStart, nameEnd, FROM)) {
+            parsing.origin = readText(parsing, end, isEmpty);
+        } else if (nameEquals(parsing, nameStart, nameEnd, TO)) {
+            parsing.destination = readText(parsing, end, isEmpty);
+        } else if (nameEquals(parsing, nameStart, nameEnd, READ)) {
+            parsing.symbol = readText(parsing, end, isEmpty);
+        }
+    }
+
+    private static void handleClosingTag(Parsing parsing, int nameStart, int nameEnd) {
+        if (nameEquals(parsing, nameStart, nameEnd, STATE)) {
+            parsing.currentState = null;
+        } else if (nameEquals(parsing, nameStart, nameEnd, TRANSITION)) {
+            parsing.builder.addTransition(parsing.origin, parsing.symbol, parsing.destination);
+        }
+    }
+
+    /*
+     * The text of a tag runs until the next '<', which is its closing tag
+     * and is read by the main scan afterwards
+     */
+    private static String readText(Parsing parsing, int tagEnd, boolean isEmpty) {
+        if (isEmpty) {
+            return BaseTransition.EPSILON;
+        }
+
+        var textEnd = indexOf(parsing, '<', tagEnd + 1);
+
+        if (textEnd == -1) {
+            throw parsing.error("Unclosed tag", tagEnd);
+        }
+
+        return decode(parsing, tagEnd + 1, textEnd);
+    }
+
+    private static String readIdAttribute(Parsing parsing, int from, int tagEnd) {
+        var position = from;
+
+        while (position < tagEnd) {
+            while (position < tagEnd && isWhitespace(byteAt(parsing, position))) {
+                position++;
+            }
+
+            var attributeNameStart = position;
+
+            while (position < tagEnd && byteAt(parsing, position) != '=' && !isWhitespace(byteAt(parsing, position))) {
+                position++;
+            }
+
+            var attributeNameEnd = position;
+
+            while (position < tagEnd && byteAt(parsing, position) != '=') {
+                position++;
+            }
+
+            position++;
+
+            while (position < tagEnd && isWhitespace(byteAt(parsing, position))) {
+                position++;
+            }
+
+            if (position >= tagEnd) {
+                break;
+            }
+
+            var quote = byteAt(parsing, position);
+            var valueEnd = indexOf(parsing, quote, position + 1);
+
+            if ((quote != '"' && quote != '\'') || valueEnd == -1 || valueEnd > tagEnd) {
+                throw parsing.error("Malformed attribute", attributeNameStart);
+            }
+
+            if (nameEquals(parsing, attributeNameStart, attributeNameEnd, ID)) {
+                return decode(parsing, position + 1, valueEnd);
+            }
+
+            position = valueEnd + 1;
+        }
+
+        throw parsing.error("A state has no id", from);
+    }
+
+    /*
+     * Trims the bytes and turns them into a String, replacing the
+     * predefined entities
+     */
+    private static String decode(Parsing parsing, int start, int end) {
+        while (start < end && isWhitespace(byteAt(parsing, start))) {
+            start++;
+        }
+
+        while (end > start && isWhitespace(byteAt(parsing, end - 1))) {
+            end--;
+        }
+
+        var length = end - start;
+
+        if (parsing.decodingBuffer.length < length) {
+            parsing.decodingBuffer = new byte[Math.max(length, parsing.decodingBuffer.length * 2)];
+        }
+
+        parsing.bytes.get(start, parsing.decodingBuffer, 0, length);
+
+        var text = new String(parsing.decodingBuffer, 0, length, StandardCharsets.UTF_8);
+
+        return text.indexOf('&') == -1 ? text : replaceEntities(text, parsing, start);
+    }
+
+    private static String replaceEntities(String text, Parsing parsing, int start) {
+        var builder = new StringBuilder(text.length());
+        var position = 0;
+
+        while (position < text.length()) {
+            var ampersand = text.indexOf('&', position);
+
+            if (ampersand == -1) {
+                builder.append(text, position, text.length());
+                break;
+            }
+
+            var semicolon = text.indexOf(';', ampersand);
+
+            if (semicolon == -1) {
+                throw parsing.error("Unterminated entity", start + ampersand);
+            }
+
+            builder.append(text, position, ampersand);
+            var entity = text.substring(ampersand + 1, semicolon);
+
+            if (entity.startsWith("#")) {
+                builder.appendCodePoint(codePointOf(entity, parsing, start + ampersand));
+            } else {
+                builder.append(entityValueOf(entity, parsing, start + ampersand));
+            }
+
+            position = semicolon + 1;
+        }
+
+        return builder.toString();
+    }
+
+    private static char entityValueOf(String entity, Parsing parsing, int position) {
+        switch (entity) {
+            case "lt":
+                return '<';
+            case "gt":
+                return '>';
+            case "amp":
+                return '&';
+            case "quot":
+                return '"';
+            case "apos":
+                return '\'';
+            default:
+                throw parsing.error("Unsupported entity &" + entity + ";", position);
+        }
+    }
+
+    /*
+     * Reads a character reference such as #60 or #x3C
+     */
+    private static int codePointOf(String reference, Parsing parsing, int position) {
+        var isHexadecimal = reference.startsWith("#x");
+        var digits = reference.substring(isHexadecimal ? 2 : 1);
+        int codePoint;
+
+        try {
+            codePoint = Integer.parseInt(digits, isHexadecimal ? 16 : 10);
+        } catch (NumberFormatException e) {
+            throw parsing.error("Malformed character reference &" + reference + ";", position);
+        }
+
+        if (digits.startsWith("+") || digits.startsWith("-") || !Character.isValidCodePoint(codePoint)) {
+            throw parsing.error("Malformed character reference &" + reference + ";", position);
+        }
+
+        return codePoint;
+    }
+
+    private static int skipPast(Parsing parsing, int start, String terminator) {
+        var end = start;
+
+        while (end < parsing.length && !startsWith(parsing, end, terminator)) {
+            end++;
+        }
+
+        if (end == parsing.length) {
+            throw parsing.error("Unterminated " + terminator, start);
+        }
+
+        return end + terminator.length();
+    }
+
+    private static int indexOf(Parsing parsing, int value, int from) {
+        for (var position = from; position < parsing.length; position++) {
+            if (parsing.bytes.get(position) == value) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean startsWith(Parsing parsing, int position, String prefix) {
+        if (position + prefix.length() > parsing.length) {
+            return false;
+        }
+
+        for (var i = 0; i < prefix.length(); i++) {
+            if (parsing.bytes.get(position + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean nameEquals(Parsing parsing, int start, int end, byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+
+        for (var i = 0; i < name.length; i++) {
+            if (parsing.bytes.get(start + i) != name[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte byteAt(Parsing parsing, int position) {
+        return position < parsing.length ? parsing.bytes.get(position) : 0;
+    }
+
+    private static boolean endsTheName(byte value) {
+        return value == '>' || value == '/' || isWhitespace(value);
+    }
+
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+}
@@ -1,6 +1,7 @@
 package main;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Scanner;
 import java.util.stream.Collectors;
@@ -8,7 +9,6 @@ import java.util.stream.Collectors;
 import automata.FiniteAutomatonConverter;
 import automata.abstractions.BaseState;
 import automata.abstractions.IFiniteAutomaton;
-import automata.abstractions.IFiniteAutomatonConverter;
 import files.AutomatonToJffFileSaver;
 import files.IAutomatonToJffFileSaver;
 import files.IJffFileParser;
@@ -17,11 +17,24 @@ import files.JffFileParser;
 public class App {
     private static final Scanner scanner = new Scanner(System.in);
     private static final IJffFileParser fileParser = new JffFileParser();
-    private static final IFiniteAutomatonConverter converter = new FiniteAutomatonConverter();
+    private static final FiniteAutomatonConverter converter = createConverterThatPrintsItsProgress();
     private static final IAutomatonToJffFileSaver saver = new AutomatonToJffFileSaver();
     private static int option;
     private static IFiniteAutomaton loadedAutomaton;
     private static IFiniteAutomaton convertedAutomaton;
+    private static boolean isShowingConversionProgress;
+
+    private static FiniteAutomatonConverter createConverterThatPrintsItsProgress() {
+        var converter = new FiniteAutomatonConverter();
+
+        // the listener runs on the converting thread, which is the main one
+        converter.setConversionListener(statistics -> {
+            isShowingConversionProgress = true;
+            System.out.print("\rConverting: " + statistics);
+        }, Duration.ofMillis(500));
+
+        return converter;
+    }
 
     public static void main(String[] args) {
         do {
@@ -147,7 +160,7 @@ public class App {
         }
 
         try {
-            convertedAutomaton = converter.convertNonDeterministicAutomatonToADeterministicOne(loadedAutomaton);
+            convertedAutomaton = convertEndingTheProgressLine(loadedAutomaton);
 
             System.out.println("Automaton succesfully converted.");
 
@@ -157,6 +170,21 @@ public class App {
         }
     }
 
+    /*
+     * The progress is printed over the same line, which must end however
+     * the conversion ends so that the next message starts on its own line
+     */
+    private static IFiniteAutomaton convertEndingTheProgressLine(IFiniteAutomaton automaton) {
+        try {
+            return converter.convertNonDeterministicAutomatonToADeterministicOne(automaton);
+        } finally {
+            if (isShowingConversionProgress) {
+                System.out.println();
+                isShowingConversionProgress = false;
+            }
+        }
+    }
+
     private static void simulateAutomatonOptionTyped() {
         try {
             System.out.print("Sentence: (separate symbols with a space): ");
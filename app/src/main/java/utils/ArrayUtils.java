@@ -17,6 +17,20 @@ public class ArrayUtils {
         }
     }
 
+    public static void throwIfNullOrEmpty(int[] array, String itemName) {
+        StringUtils.throwIfNullOrEmpty(itemName, "itemName");
+
+        var exceptionMsg = "The " + itemName + " cannot be null or empty";
+
+        if (array == null) {
+            throw new NullPointerException(exceptionMsg);
+        }
+
+        if (array.length == 0) {
+            throw new IllegalArgumentException(exceptionMsg);
+        }
+    }
+
     public static void throwIfAnyElementIsNullOrEmpty(String[] array, String itemName) {
         StringUtils.throwIfNullOrEmpty(itemName, "itemName");
 
@@ -5,7 +5,7 @@ public class StringUtils {
         return "Invalid " + missingPart + ": cannot be null or empty";
     }
 
-    public static void throwIfNullOrEmpty(String s, String itemName) {
+    public static void throwIfNullOrEmpty(CharSequence s, String itemName) {
         var itemNameRelatedMsg = createExceptionMessage("itemName");
         var parameterRelatedMsg = createExceptionMessage(itemName);
 
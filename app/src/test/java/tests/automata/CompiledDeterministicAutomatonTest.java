@@ -0,0 +1,277 @@
+package tests.automata;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.CompiledDeterministicAutomaton;
+import automata.FiniteAutomaton;
+import automata.State;
+import automata.StateSet;
+import automata.Transition;
+import automata.abstractions.AutomatonMatch;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.MatchPolicy;
+
+public class CompiledDeterministicAutomatonTest {
+    private BaseState[] someStates;
+    private IFiniteAutomaton deterministicAutomaton;
+    private CompiledDeterministicAutomaton compiledAutomaton;
+
+    @Before
+    public void setup() {
+        someStates = new BaseState[] { new State("0"), new State("1"), new State("2") };
+
+        someStates[0].setIfIsTheInitialState(true);
+
+        someStates[1].setIfIsAFinalState(true);
+
+        var transitions = Set.of(
+                new Transition(someStates[0], "a", someStates[0]),
+                new Transition(someStates[0], "b", someStates[1]),
+                new Transition(someStates[1], "b", someStates[2]),
+                new Transition(someStates[2], "b", someStates[1]));
+
+        deterministicAutomaton = new FiniteAutomaton(transitions);
+        compiledAutomaton = new CompiledDeterministicAutomaton(deterministicAutomaton);
+    }
+
+    @Test
+    public void throwsIfTheAutomatonIsNullOrNonDeterministic() {
+        assertThrows(NullPointerException.class, () -> {
+            new CompiledDeterministicAutomaton(null);
+        });
+
+        var transitions = Set.of(
+                new Transition(someStates[0], "a", someStates[0], someStates[1]));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new CompiledDeterministicAutomaton(new FiniteAutomaton(transitions));
+        });
+    }
+
+    @Test
+    public void initialStateHasTheFirstId() {
+        assertEquals(someStates[0], compiledAutomaton.getStateById(compiledAutomaton.getInitialStateId()));
+        assertEquals(3, compiledAutomaton.getStateCount());
+        assertEquals(2, compiledAutomaton.getSymbolCount());
+    }
+
+    @Test
+    public void missingTransitionsAndUnknownSymbolsLeadToNoState() {
+        var initial = compiledAutomaton.getInitialStateId();
+        var afterB = compiledAutomaton.nextStateOf(initial, compiledAutomaton.getSymbolId("b"));
+
+        assertEquals(CompiledDeterministicAutomaton.NO_STATE, compiledAutomaton.getSymbolId("x"));
+        assertEquals(CompiledDeterministicAutomaton.NO_STATE,
+                compiledAutomaton.nextStateOf(afterB, compiledAutomaton.getSymbolId("a")));
+    }
+
+    @Test
+    public void acceptsTheSameSentencesAsTheSourceAutomaton() {
+        assertTrue(compiledAutomaton.accepts("a", "a", "b"));
+        assertTrue(compiledAutomaton.accepts("b", "b", "b"));
+        assertFalse(compiledAutomaton.accepts("b", "b"));
+        assertFalse(compiledAutomaton.accepts("b", "a"));
+        assertFalse(compiledAutomaton.accepts("x"));
+    }
+
+    @Test
+    public void readsTextCharacterByCharacter() {
+        assertTrue(compiledAutomaton.acceptsCharacters("aab"));
+        assertTrue(compiledAutomaton.acceptsCharacters("bbb"));
+        assertFalse(compiledAutomaton.acceptsCharacters("bb"));
+        assertFalse(compiledAutomaton.acceptsCharacters("a b"));
+    }
+
+    @Test
+    public void findsEveryOverlappingMatch() {
+        var matches = compiledAutomaton.findMatches(MatchPolicy.ALL_OVERLAPPING, "b", "a", "b", "b", "b");
+
+        assertEquals(List.of(
+                new AutomatonMatch(0, 1),
+                new AutomatonMatch(1, 3),
+                new AutomatonMatch(1, 5),
+                new AutomatonMatch(2, 3),
+                new AutomatonMatch(2, 5),
+                new AutomatonMatch(3, 4),
+                new AutomatonMatch(4, 5)), matches);
+    }
+
+    @Test
+    public void findsTheLeftmostLongestMatches() {
+        var matches = compiledAutomaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, "b", "a", "b", "b", "b", "x");
+
+        assertEquals(List.of(new AutomatonMatch(0, 1), new AutomatonMatch(1, 5)), matches);
+    }
+
+    @Test
+    public void simulationReturnsTheVisitedStates() {
+        var result = compiledAutomaton.simulate("a", "b", "b");
+
+        assertFalse(result.wasSentenceAccepted());
+        assertEquals(List.of(someStates[0], someStates[0], someStates[1], someStates[2]),
+                result.getVisitedStates());
+
+        result = compiledAutomaton.simulate("b", "a");
+
+        assertFalse(result.wasSentenceAccepted());
+        assertEquals(List.of(someStates[0], someStates[1]), result.getVisitedStates());
+    }
+
+    @Test
+    public void deterministicFiniteAutomatonSimulationGivesTheSameResult() {
+        var result = deterministicAutomaton.simulate("a", "b");
+
+        assertTrue(result.wasSentenceAccepted());
+        assertEquals(List.of(someStates[0], someStates[0], someStates[1]), result.getVisitedStates());
+    }
+
+    @Test
+    public void scansFindTheSameMatchesAsCheckingEverySubsentence() {
+        var random = new Random(42);
+
+        for (var i = 0; i < 200; i++) {
+            var sentence = createRandomSentence(random, "a", "b", "x");
+
+            assertEquals(findEveryMatchOneByOne(compiledAutomaton, sentence),
+                    compiledAutomaton.findMatches(MatchPolicy.ALL_OVERLAPPING, sentence));
+            assertEquals(findLeftmostLongestMatchesOneByOne(compiledAutomaton, sentence),
+                    compiledAutomaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, sentence));
+        }
+    }
+
+    /*
+     * Every run of a* goes to the end of the input, so restarting the
+     * table at each start would take O(n^2) steps
+     */
+    @Test(timeout = 10000)
+    public void scansRunsThatNeverMatchInLinearTime() {
+        var states = new BaseState[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new CompiledDeterministicAutomaton(new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[0]),
+                new Transition(states[0], "c", states[1]))));
+
+        var sentence = new String[200000];
+        Arrays.fill(sentence, "a");
+        sentence[sentence.length - 1] = "b";
+
+        assertEquals(List.of(), automaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, sentence));
+        assertEquals(List.of(), automaton.findMatches(MatchPolicy.ALL_OVERLAPPING, sentence));
+
+        sentence[sentence.length - 1] = "c";
+
+        assertEquals(List.of(new AutomatonMatch(0, sentence.length)),
+                automaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, sentence));
+    }
+
+    @Test
+    public void emptyMatchesAreNotReported() {
+        var state = new State("0");
+
+        state.setIfIsTheInitialState(true);
+        state.setIfIsAFinalState(true);
+
+        var automaton = new CompiledDeterministicAutomaton(new FiniteAutomaton(Set.of(new Transition(state, "a", state))));
+
+        assertEquals(List.of(new AutomatonMatch(1, 2)), automaton.findMatches(MatchPolicy.ALL_OVERLAPPING, "b", "a", "b"));
+        assertEquals(List.of(new AutomatonMatch(1, 2)), automaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, "b", "a", "b"));
+    }
+
+    @Test
+    public void runsOnTablesBackedByArraysOrByOtherBuffers() {
+        var stateCount = compiledAutomaton.getStateCount();
+        var symbolCount = compiledAutomaton.getSymbolCount();
+        var states = new BaseState[stateCount];
+        var table = new int[stateCount * symbolCount];
+        var acceptingStates = new long[StateSet.wordsNeededFor(stateCount)];
+
+        for (var stateId = 0; stateId < stateCount; stateId++) {
+            states[stateId] = compiledAutomaton.getStateById(stateId);
+
+            if (compiledAutomaton.isAcceptingStateId(stateId)) {
+                acceptingStates[stateId >>> 6] |= 1L << stateId;
+            }
+
+            for (var symbolId = 0; symbolId < symbolCount; symbolId++) {
+                table[stateId * symbolCount + symbolId] = compiledAutomaton.nextStateOf(stateId, symbolId);
+            }
+        }
+
+        var directTable = ByteBuffer.allocateDirect(table.length * Integer.BYTES).asIntBuffer().put(table).flip();
+        var fromArray = new CompiledDeterministicAutomaton(
+                states, compiledAutomaton.getSymbolTable(), IntBuffer.wrap(table), LongBuffer.wrap(acceptingStates));
+        var fromDirectBuffer = new CompiledDeterministicAutomaton(
+                states, compiledAutomaton.getSymbolTable(), directTable, LongBuffer.wrap(acceptingStates));
+
+        for (var automaton : List.of(fromArray, fromDirectBuffer)) {
+            assertEquals(compiledAutomaton.getAlphabet(), automaton.getAlphabet());
+            assertEquals(compiledAutomaton.getAllStates(), automaton.getAllStates());
+            assertEquals(compiledAutomaton.getFinalStates(), automaton.getFinalStates());
+            assertTrue(automaton.accepts("a", "b", "b", "b"));
+            assertFalse(automaton.accepts("a", "b", "b"));
+        }
+    }
+
+    private static List<AutomatonMatch> findEveryMatchOneByOne(IFiniteAutomaton automaton, String[] symbols) {
+        var matches = new ArrayList<AutomatonMatch>();
+
+        for (var start = 0; start < symbols.length; start++) {
+            for (var end = start + 1; end <= symbols.length; end++) {
+                if (automaton.accepts(Arrays.copyOfRange(symbols, start, end))) {
+                    matches.add(new AutomatonMatch(start, end));
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    private static List<AutomatonMatch> findLeftmostLongestMatchesOneByOne(IFiniteAutomaton automaton, String[] symbols) {
+        var matches = new ArrayList<AutomatonMatch>();
+        var start = 0;
+
+        while (start < symbols.length) {
+            var longestMatchEnd = -1;
+
+            for (var end = start + 1; end <= symbols.length; end++) {
+                if (automaton.accepts(Arrays.copyOfRange(symbols, start, end))) {
+                    longestMatchEnd = end;
+                }
+            }
+
+            if (longestMatchEnd == -1) {
+                start++;
+            } else {
+                matches.add(new AutomatonMatch(start, longestMatchEnd));
+                start = longestMatchEnd;
+            }
+        }
+
+        return matches;
+    }
+
+    private static String[] createRandomSentence(Random random, String... symbols) {
+        var sentence = new String[1 + random.nextInt(12)];
+
+        for (var i = 0; i < sentence.length; i++) {
+            sentence[i] = symbols[random.nextInt(symbols.length)];
+        }
+
+        return sentence;
+    }
+}
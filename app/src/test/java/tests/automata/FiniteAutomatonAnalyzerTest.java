@@ -0,0 +1,129 @@
+package tests.automata;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.FiniteAutomatonAnalyzer;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonAnalyzer;
+
+public class FiniteAutomatonAnalyzerTest {
+    private IFiniteAutomatonAnalyzer analyzer;
+    private State[] states;
+    private IFiniteAutomaton automaton;
+
+    @Before
+    public void setup() {
+        analyzer = new FiniteAutomatonAnalyzer();
+
+        // 0 -a-> 1 -b-> 2 (final), 1 -a-> 3 (dead end), 4 -a-> 2 (unreachable)
+        states = new State[] { new State("0"), new State("1"), new State("2"), new State("3"), new State("4") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[2].setIfIsAFinalState(true);
+
+        automaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "b", states[2]),
+                new Transition(states[1], "a", states[3]),
+                new Transition(states[4], "a", states[2])));
+    }
+
+    @Test
+    public void throwsIfTheAutomatonIsNull() {
+        assertThrows(NullPointerException.class, () -> {
+            analyzer.getReachableStates(null);
+        });
+
+        assertThrows(NullPointerException.class, () -> {
+            analyzer.findShortestAcceptedSentence(null);
+        });
+    }
+
+    @Test
+    public void findsReachableAndCoReachableStates() {
+        assertEquals(Set.of(states[0], states[1], states[2], states[3]), analyzer.getReachableStates(automaton));
+        assertEquals(Set.of(states[0], states[1], states[2], states[4]), analyzer.getCoReachableStates(automaton));
+    }
+
+    @Test
+    public void findsTheShortestAcceptedSentence() {
+        assertFalse(analyzer.acceptsNothing(automaton));
+        assertEquals(List.of("a", "b"), analyzer.findShortestAcceptedSentence(automaton).orElseThrow());
+    }
+
+    @Test
+    public void epsilonTransitionsDoNotCountOnTheSentenceLength() {
+        var epsilonAutomaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "a", states[2]),
+                new Transition(states[0], BaseTransition.EPSILON, states[3]),
+                new Transition(states[3], BaseTransition.EPSILON, states[4]),
+                new Transition(states[4], "b", states[2])));
+
+        assertEquals(List.of("b"), analyzer.findShortestAcceptedSentence(epsilonAutomaton).orElseThrow());
+    }
+
+    @Test
+    public void detectsEmptyLanguages() {
+        var emptyAutomaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "a", states[0])));
+
+        assertTrue(analyzer.acceptsNothing(emptyAutomaton));
+        assertTrue(analyzer.findShortestAcceptedSentence(emptyAutomaton).isEmpty());
+        assertTrue(analyzer.acceptsFinitelyManySentences(emptyAutomaton));
+    }
+
+    @Test
+    public void onlyCyclesThatCanReachAFinalStateMakeTheLanguageInfinite() {
+        assertTrue(analyzer.acceptsFinitelyManySentences(automaton));
+
+        var withUselessCycle = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "b", states[2]),
+                new Transition(states[1], "a", states[3]),
+                new Transition(states[3], "a", states[3])));
+
+        assertTrue(analyzer.acceptsFinitelyManySentences(withUselessCycle));
+
+        var withEpsilonCycle = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], BaseTransition.EPSILON, states[0]),
+                new Transition(states[0], BaseTransition.EPSILON, states[2])));
+
+        assertFalse(analyzer.acceptsFinitelyManySentences(withEpsilonCycle));
+
+        var withOnlyEpsilonCycle = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], BaseTransition.EPSILON, states[3]),
+                new Transition(states[3], BaseTransition.EPSILON, states[1]),
+                new Transition(states[3], "b", states[2])));
+
+        assertTrue(analyzer.acceptsFinitelyManySentences(withOnlyEpsilonCycle));
+    }
+
+    @Test
+    public void answersFollowTheFinalStatesFixedByTheAutomaton() {
+        assertEquals(List.of("a", "b"), analyzer.findShortestAcceptedSentence(automaton).orElseThrow());
+
+        // the automaton keeps its final states, so the cached graph must too
+        states[2].setIfIsAFinalState(false);
+        states[3].setIfIsAFinalState(true);
+
+        var analyzedLater = new FiniteAutomatonAnalyzer();
+
+        assertEquals(Set.of(states[2]), automaton.getFinalStates());
+        assertEquals(List.of("a", "b"), analyzer.findShortestAcceptedSentence(automaton).orElseThrow());
+        assertEquals(List.of("a", "b"), analyzedLater.findShortestAcceptedSentence(automaton).orElseThrow());
+        assertTrue(automaton.accepts("a", "b"));
+    }
+}
@@ -0,0 +1,122 @@
+package tests.automata;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.FiniteAutomatonComparator;
+import automata.FiniteAutomatonConverter;
+import automata.FiniteAutomatonMinimizer;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonComparator;
+
+public class FiniteAutomatonComparatorTest {
+    private IFiniteAutomatonComparator comparator;
+    private IFiniteAutomaton endsWithA;
+    private IFiniteAutomaton endsWithAA;
+
+    @Before
+    public void setup() {
+        comparator = new FiniteAutomatonComparator();
+
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        endsWithA = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[0], "b", states[0]),
+                new Transition(states[1], "a", states[1]),
+                new Transition(states[1], "b", states[0])));
+
+        var otherStates = new State[] { new State("0"), new State("1"), new State("2") };
+
+        otherStates[0].setIfIsTheInitialState(true);
+        otherStates[2].setIfIsAFinalState(true);
+
+        endsWithAA = new FiniteAutomaton(Set.of(
+                new Transition(otherStates[0], "a", otherStates[1]),
+                new Transition(otherStates[0], "b", otherStates[0]),
+                new Transition(otherStates[1], "a", otherStates[2]),
+                new Transition(otherStates[1], "b", otherStates[0]),
+                new Transition(otherStates[2], "a", otherStates[2]),
+                new Transition(otherStates[2], "b", otherStates[0])));
+    }
+
+    @Test
+    public void throwsIfAnyAutomatonIsNull() {
+        assertThrows(NullPointerException.class, () -> {
+            comparator.checkEquivalence(null, endsWithA);
+        });
+
+        assertThrows(NullPointerException.class, () -> {
+            comparator.checkInclusion(endsWithA, null);
+        });
+    }
+
+    @Test
+    public void differentDeterministicAutomataGiveAShortestCounterexample() {
+        var result = comparator.checkEquivalence(endsWithA, endsWithAA);
+
+        assertFalse(result.holds());
+        assertEquals(List.of("a"), result.getCounterexample().orElseThrow());
+    }
+
+    @Test
+    public void inclusionOnlyHoldsInOneDirection() {
+        assertTrue(comparator.checkInclusion(endsWithAA, endsWithA).holds());
+
+        var result = comparator.checkInclusion(endsWithA, endsWithAA);
+
+        assertFalse(result.holds());
+        assertEquals(List.of("a"), result.getCounterexample().orElseThrow());
+    }
+
+    @Test
+    public void convertedAndMinimizedAutomataAreEquivalentToTheirSource() {
+        var source = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(8);
+        var converted = new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(source);
+        var minimized = new FiniteAutomatonMinimizer().minimize(converted);
+
+        assertTrue(comparator.checkEquivalence(source, converted).holds());
+        assertTrue(comparator.checkEquivalence(converted, minimized).holds());
+        assertTrue(comparator.checkEquivalence(minimized, source).holds());
+    }
+
+    @Test
+    public void differentNonDeterministicAutomataGiveAShortestCounterexample() {
+        var result = comparator.checkEquivalence(TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(3), TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(4));
+
+        assertFalse(result.holds());
+        assertEquals(4, result.getCounterexample().orElseThrow().size());
+        assertEquals("a", result.getCounterexample().orElseThrow().get(0));
+    }
+
+    @Test
+    public void symbolsMissingFromOneAlphabetBreakTheEquivalence() {
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var withC = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[0], "b", states[0]),
+                new Transition(states[0], "c", states[1]),
+                new Transition(states[1], "a", states[1]),
+                new Transition(states[1], "b", states[0])));
+
+        var result = comparator.checkEquivalence(endsWithA, withC);
+
+        assertFalse(result.holds());
+        assertEquals(List.of("c"), result.getCounterexample().orElseThrow());
+        assertTrue(comparator.checkInclusion(endsWithA, withC).holds());
+    }
+}
@@ -1,5 +1,9 @@
 package tests.automata;
 
+import automata.abstractions.BaseTransition;
+import automata.abstractions.ConversionLimits;
+import automata.abstractions.ConversionStatistics;
+import automata.abstractions.ConversionStatus;
 import automata.abstractions.IFiniteAutomaton;
 import automata.abstractions.IFiniteAutomatonConverter;
 import automata.FiniteAutomaton;
@@ -11,6 +15,9 @@ import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.List;
 
@@ -133,4 +140,166 @@ public class FiniteAutomatonConverterTest {
                         .anyMatch(s -> transitionFunction.whereToGoWith(s, "b").equals(Set.of(state1))));
         assertEquals(Set.of(state1), transitionFunction.whereToGoWith(state1, "b"));
     }
+
+    @Test
+    public void convertsAutomataWithAnExponentialNumberOfSubsets() {
+        var n = 12;
+        var automaton = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(n);
+        var converted = converter.convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+        assertTrue(converted.isDeterministic());
+        assertEquals(1 << (n + 1), converted.getAllStates().size());
+
+        var sentence = new String[n + 3];
+        Arrays.fill(sentence, "b");
+        sentence[1] = "a";
+
+        assertFalse(automaton.accepts(sentence));
+        assertFalse(converted.accepts(sentence));
+
+        sentence[2] = "a";
+
+        assertTrue(automaton.accepts(sentence));
+        assertTrue(converted.accepts(sentence));
+    }
+
+    @Test
+    public void convertsAutomataWithEpsilonTransitions() {
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[0]),
+                new Transition(states[0], BaseTransition.EPSILON, states[1]),
+                new Transition(states[1], "b", states[1])));
+
+        var converted = converter.convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+        assertTrue(converted.isDeterministic());
+        assertEquals(new State("[0, 1]"), converted.getInitialState());
+        assertTrue(converted.getInitialState().isAFinalState());
+        assertEquals(Set.of(new State("[0, 1]"), new State("1")), converted.getAllStates());
+        assertTrue(converted.accepts("a", "b"));
+        assertFalse(converted.accepts("b", "a"));
+    }
+
+    @Test
+    public void convertsAutomataThatOnlyAcceptTheEmptySentence() {
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new FiniteAutomaton(Set.of(new Transition(states[0], BaseTransition.EPSILON, states[1])));
+        var converted = converter.convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+        assertTrue(converted.isDeterministic());
+        assertEquals(Set.of(new State("[0, 1]")), converted.getAllStates());
+        assertTrue(converted.getInitialState().isAFinalState());
+        assertTrue(converted.getAlphabet().isEmpty());
+        assertFalse(converted.accepts("a"));
+    }
+
+    @Test
+    public void keepsTheAlphabetOfTheSourceAutomaton() {
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new FiniteAutomaton(
+                Set.of(new Transition(states[0], BaseTransition.EPSILON, states[1])),
+                Set.of(states),
+                Set.of("a", "b"));
+
+        var converted = converter.convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+        assertEquals(Set.of("a", "b"), converted.getAlphabet());
+    }
+
+    @Test
+    public void stopsWhenTheStateLimitIsExceeded() {
+        var automaton = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(12);
+        var result = new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(
+                automaton, ConversionLimits.NONE.withMaximumStates(100));
+
+        assertFalse(result.isCompleted());
+        assertEquals(ConversionStatus.STATE_LIMIT_EXCEEDED, result.getStatus());
+        assertTrue(result.getAutomaton().isEmpty());
+        assertTrue(result.getStatistics().getDiscoveredStates() > 100);
+        assertTrue(result.getStatistics().getDiscoveredStates() < 1 << 13);
+    }
+
+    @Test
+    public void stopsWhenTheMemoryOrTimeLimitIsExceeded() {
+        var automaton = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(12);
+        var converter = new FiniteAutomatonConverter();
+
+        var memoryLimited = converter.convertNonDeterministicAutomatonToADeterministicOne(
+                automaton, ConversionLimits.NONE.withMaximumMemoryInBytes(64 * 1024));
+
+        assertEquals(ConversionStatus.MEMORY_LIMIT_EXCEEDED, memoryLimited.getStatus());
+        assertTrue(memoryLimited.getStatistics().getEstimatedMemoryInBytes() > 64 * 1024);
+
+        var timeLimited = converter.convertNonDeterministicAutomatonToADeterministicOne(
+                automaton, ConversionLimits.NONE.withTimeLimit(Duration.ofNanos(1)));
+
+        assertEquals(ConversionStatus.TIME_LIMIT_EXCEEDED, timeLimited.getStatus());
+    }
+
+    @Test
+    public void fallsBackToALazyAutomatonWhenAskedTo() {
+        var n = 12;
+        var automaton = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(n);
+        var result = new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(
+                automaton, ConversionLimits.NONE.withMaximumStates(10).withFallbackToLazyAutomaton());
+
+        assertEquals(ConversionStatus.STATE_LIMIT_EXCEEDED, result.getStatus());
+
+        var fallback = result.getAutomaton().orElseThrow();
+        var sentence = new String[n + 1];
+
+        Arrays.fill(sentence, "b");
+        sentence[0] = "a";
+
+        assertTrue(fallback.accepts(sentence));
+        assertFalse(fallback.accepts("b", "a"));
+    }
+
+    @Test
+    public void completesWhenTheLimitsAreNotExceeded() {
+        var result = new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(
+                automatonToBeConverted, ConversionLimits.NONE.withMaximumStates(10).withTimeLimit(Duration.ofMinutes(1)));
+
+        assertTrue(result.isCompleted());
+        assertEquals(3, result.getStatistics().getDiscoveredStates());
+        assertEquals(0, result.getStatistics().getPendingStates());
+        assertTrue(result.getAutomaton().orElseThrow().isDeterministic());
+    }
+
+    @Test
+    public void reportsTheProgressToTheListener() {
+        var n = 10;
+        var converter = new FiniteAutomatonConverter();
+        var reports = new ArrayList<ConversionStatistics>();
+
+        converter.setConversionListener(reports::add, Duration.ZERO);
+        converter.convertNonDeterministicAutomatonToADeterministicOne(TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(n));
+
+        assertTrue(reports.size() > 1);
+
+        for (var i = 1; i < reports.size(); i++) {
+            assertTrue(reports.get(i).getDiscoveredStates() >= reports.get(i - 1).getDiscoveredStates());
+        }
+
+        var lastReport = reports.get(reports.size() - 1);
+
+        assertEquals(1 << (n + 1), lastReport.getDiscoveredStates());
+        assertEquals(0, lastReport.getPendingStates());
+        assertEquals(2L << (n + 1), lastReport.getTransitions());
+        assertEquals(n + 2, lastReport.getLargestSubsetSize());
+        assertTrue(lastReport.getStatesPerSecond() > 0);
+    }
 }
@@ -0,0 +1,129 @@
+package tests.automata;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.FiniteAutomatonComparator;
+import automata.FiniteAutomatonConverter;
+import automata.FiniteAutomatonMinimizer;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonMinimizer;
+
+public class FiniteAutomatonMinimizerTest {
+    private IFiniteAutomatonMinimizer minimizer;
+    private IFiniteAutomaton automatonToBeMinimized;
+
+    @Before
+    public void setup() {
+        minimizer = new FiniteAutomatonMinimizer();
+
+        // 1 and 2 are equivalent, 3 can never reach a final state and 4 is unreachable
+        var states = new State[] { new State("0"), new State("1"), new State("2"), new State("3"), new State("4") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+        states[2].setIfIsAFinalState(true);
+        states[4].setIfIsAFinalState(true);
+
+        var transitions = Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[0], "b", states[2]),
+                new Transition(states[0], "c", states[3]),
+                new Transition(states[1], "a", states[1]),
+                new Transition(states[2], "a", states[2]),
+                new Transition(states[3], "a", states[3]),
+                new Transition(states[4], "a", states[0]));
+
+        automatonToBeMinimized = new FiniteAutomaton(transitions);
+    }
+
+    @Test
+    public void throwsIfTheAutomatonIsNullOrNonDeterministic() {
+        assertThrows(NullPointerException.class, () -> {
+            minimizer.minimize(null);
+        });
+
+        var states = new State[] { new State("0"), new State("1") };
+        states[0].setIfIsTheInitialState(true);
+
+        var automaton = new FiniteAutomaton(Set.of(new Transition(states[0], "a", states[0], states[1])));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            minimizer.minimize(automaton);
+        });
+    }
+
+    @Test
+    public void mergesEquivalentStatesAndDropsUselessOnes() {
+        var minimized = minimizer.minimize(automatonToBeMinimized);
+
+        assertTrue(minimized.isDeterministic());
+        assertEquals(2, minimized.getAllStates().size());
+        assertEquals(1, minimized.getFinalStates().size());
+        assertEquals("0", minimized.getInitialState().getIdentifier());
+        // c only leads to the dead state, but it is still part of the alphabet
+        assertEquals(Set.of("a", "b", "c"), minimized.getAlphabet());
+    }
+
+    @Test
+    public void minimizedAutomatonAcceptsTheSameSentences() {
+        var minimized = minimizer.minimize(automatonToBeMinimized);
+
+        var sentences = new String[][] {
+                { "a" }, { "b" }, { "c" }, { "a", "a", "a" }, { "b", "a" }, { "a", "b" }, { "c", "a" }
+        };
+
+        for (var sentence : sentences) {
+            assertEquals(automatonToBeMinimized.accepts(sentence), minimized.accepts(sentence));
+        }
+    }
+
+    @Test
+    public void keepsTheSizeOfAnAlreadyMinimalAutomaton() {
+        // (a|b)*a(a|b)^n needs 2^(n+1) deterministic states
+        var n = 6;
+        var automaton = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(n);
+        var converted = new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(automaton);
+        var minimized = minimizer.minimize(converted);
+
+        assertEquals(1 << (n + 1), converted.getAllStates().size());
+        assertEquals(converted.getAllStates().size(), minimized.getAllStates().size());
+    }
+
+    @Test
+    public void theMinimalAutomatonOfTheEmptyLanguageIsItsInitialState() {
+        var states = new State[] { new State("0"), new State("1") };
+        states[0].setIfIsTheInitialState(true);
+
+        var minimized = minimizer.minimize(new FiniteAutomaton(Set.of(new Transition(states[0], "a", states[1]))));
+
+        assertEquals(Set.of(new State("0")), minimized.getAllStates());
+        assertEquals(Set.of(), minimized.getFinalStates());
+        assertEquals(Set.of("a"), minimized.getAlphabet());
+        assertFalse(minimized.accepts("a"));
+    }
+
+    @Test
+    public void theMinimalAutomatonOfTheEmptySentenceHasNoTransitions() {
+        var states = new State[] { new State("0"), new State("1") };
+        states[0].setIfIsTheInitialState(true);
+        states[0].setIfIsAFinalState(true);
+
+        var minimized = minimizer.minimize(new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "b", states[1]))));
+
+        assertEquals(Set.of(new State("0")), minimized.getAllStates());
+        assertTrue(minimized.getInitialState().isAFinalState());
+        assertTrue(minimized.getTransitionFunction().getTransitionsFrom(minimized.getInitialState()).isEmpty());
+        assertEquals(Set.of("a", "b"), minimized.getAlphabet());
+        assertFalse(minimized.accepts("a"));
+        assertTrue(new FiniteAutomatonComparator().checkEquivalence(minimized, minimizer.minimize(minimized)).holds());
+    }
+}
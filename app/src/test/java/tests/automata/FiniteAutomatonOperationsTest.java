@@ -0,0 +1,155 @@
+package tests.automata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.FiniteAutomatonOperations;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonOperations;
+
+public class FiniteAutomatonOperationsTest {
+    private IFiniteAutomatonOperations operations;
+    private IFiniteAutomaton endsWithA;
+    private IFiniteAutomaton containsB;
+
+    @Before
+    public void setup() {
+        operations = new FiniteAutomatonOperations();
+
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        endsWithA = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[0], "b", states[0]),
+                new Transition(states[1], "a", states[1]),
+                new Transition(states[1], "b", states[0])));
+
+        // non deterministic, so it is converted before the product
+        var otherStates = new State[] { new State("p"), new State("q") };
+
+        otherStates[0].setIfIsTheInitialState(true);
+        otherStates[1].setIfIsAFinalState(true);
+
+        containsB = new FiniteAutomaton(Set.of(
+                new Transition(otherStates[0], "a", otherStates[0]),
+                new Transition(otherStates[0], "b", otherStates[0], otherStates[1]),
+                new Transition(otherStates[1], "a", otherStates[1]),
+                new Transition(otherStates[1], "b", otherStates[1])));
+    }
+
+    private static List<String[]> allSentencesUpToLength(int maximumLength) {
+        var sentences = new ArrayList<String[]>();
+
+        for (var length = 1; length <= maximumLength; length++) {
+            for (var bits = 0; bits < 1 << length; bits++) {
+                var sentence = new String[length];
+
+                for (var i = 0; i < length; i++) {
+                    sentence[i] = (bits & (1 << i)) == 0 ? "a" : "b";
+                }
+
+                sentences.add(sentence);
+            }
+        }
+
+        return sentences;
+    }
+
+    @Test
+    public void throwsIfAnyAutomatonIsNull() {
+        assertThrows(NullPointerException.class, () -> {
+            operations.intersection(null, containsB);
+        });
+
+        assertThrows(NullPointerException.class, () -> {
+            operations.union(endsWithA, null);
+        });
+
+        assertThrows(NullPointerException.class, () -> {
+            operations.complement(null);
+        });
+    }
+
+    @Test
+    public void productsAcceptTheCombinedLanguages() {
+        var intersection = operations.intersection(endsWithA, containsB);
+        var union = operations.union(endsWithA, containsB);
+        var difference = operations.difference(endsWithA, containsB);
+
+        assertTrue(intersection.isDeterministic());
+        assertTrue(union.isDeterministic());
+        assertTrue(difference.isDeterministic());
+
+        for (var sentence : allSentencesUpToLength(6)) {
+            var first = endsWithA.accepts(sentence);
+            var second = containsB.accepts(sentence);
+
+            assertEquals(first && second, intersection.accepts(sentence));
+            assertEquals(first || second, union.accepts(sentence));
+            assertEquals(first && !second, difference.accepts(sentence));
+        }
+    }
+
+    @Test
+    public void intersectionOfDisjointAutomataHasNoTransitionsButKeepsTheAlphabet() {
+        var readsA = new State[] { new State("0"), new State("1") };
+        var readsB = new State[] { new State("p"), new State("q") };
+
+        readsA[0].setIfIsTheInitialState(true);
+        readsA[1].setIfIsAFinalState(true);
+        readsB[0].setIfIsTheInitialState(true);
+        readsB[1].setIfIsAFinalState(true);
+
+        var intersection = operations.intersection(
+                new FiniteAutomaton(Set.of(new Transition(readsA[0], "a", readsA[1]))),
+                new FiniteAutomaton(Set.of(new Transition(readsB[0], "b", readsB[1]))));
+
+        assertEquals(Set.of("a", "b"), intersection.getAlphabet());
+        assertEquals(1, intersection.getAllStates().size());
+        assertTrue(intersection.getTransitionFunction().getTransitionsFrom(intersection.getInitialState()).isEmpty());
+        assertFalse(intersection.accepts("a"));
+        assertFalse(intersection.accepts("b"));
+    }
+
+    @Test
+    public void complementAcceptsWhatTheAutomatonRejects() {
+        var complement = operations.complement(containsB);
+
+        assertTrue(complement.isDeterministic());
+
+        for (var sentence : allSentencesUpToLength(6)) {
+            assertNotEquals(containsB.accepts(sentence), complement.accepts(sentence));
+        }
+    }
+
+    @Test
+    public void complementCompletesTheAutomatonWithADeadState() {
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var onlyAB = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[0]),
+                new Transition(states[0], "b", states[1])));
+
+        var complement = operations.complement(onlyAB);
+
+        assertEquals(3, complement.getAllStates().size());
+        assertTrue(complement.getAllStates().contains(new State("[]")));
+        assertFalse(complement.accepts("a", "b"));
+        assertTrue(complement.accepts("b", "a"));
+        assertTrue(complement.accepts("b", "b"));
+    }
+}
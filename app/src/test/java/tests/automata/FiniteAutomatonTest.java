@@ -1,5 +1,6 @@
 package tests.automata;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -56,6 +57,34 @@ public class FiniteAutomatonTest {
         });
     }
 
+    @Test
+    public void canHaveStatesAndSymbolsThatNoTransitionUses() {
+        var initialState = new State("i");
+        initialState.setIfIsTheInitialState(true);
+
+        var withoutTransitions = new FiniteAutomaton(Set.of(), Set.of(initialState), Set.of("a"));
+
+        assertEquals(Set.of("a"), withoutTransitions.getAlphabet());
+        assertTrue(withoutTransitions.isDeterministic());
+        assertFalse(withoutTransitions.accepts("a"));
+
+        var withMoreStatesAndSymbols = new FiniteAutomaton(
+                someTransitions, Set.of(someStates[0], someStates[1], someStates[2], someStates[3], someStates[4],
+                        new State("5")),
+                Set.of("a", "b", "c", "d", "e"));
+
+        assertEquals(6, withMoreStatesAndSymbols.getAllStates().size());
+        assertEquals(Set.of("a", "b", "c", "d", "e"), withMoreStatesAndSymbols.getAlphabet());
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new FiniteAutomaton(someTransitions, Set.of(someStates), Set.of("a", "b"));
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new FiniteAutomaton(someTransitions, Set.of(someStates[0], someStates[1]), Set.of("a", "b", "c", "d"));
+        });
+    }
+
     @Test
     public void alphabetContainsAllSymbolsPresentInTheTransitions() {
         assertEquals(Set.of("a", "b", "c", "d"), automaton.getAlphabet());
@@ -115,6 +144,14 @@ public class FiniteAutomatonTest {
         assertThrows(IllegalArgumentException.class, () -> {
             automaton.simulate(new String[] { null });
         });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            automaton.accepts("a", "");
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            automaton.accepts("a", null);
+        });
     }
 
     @Test
@@ -178,4 +215,126 @@ public class FiniteAutomatonTest {
 
         assertTrue(possibleResults.stream().anyMatch(r -> r.equals(givenResult)));
     }
+
+    @Test
+    public void acceptanceOnlyModeGivesTheSameResults() {
+        assertTrue(automaton.accepts("a", "b"));
+        assertTrue(automaton.accepts("a", "b", "b", "c"));
+        assertFalse(automaton.accepts("a", "b", "b", "d"));
+        assertFalse(automaton.accepts("x", "y"));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            automaton.accepts(new String[0]);
+        });
+    }
+
+    @Test
+    public void textIsReadCharacterByCharacterWhenSymbolsAreCharacters() {
+        var finiteAutomaton = (FiniteAutomaton) automaton;
+
+        assertTrue(finiteAutomaton.isACharacterAlphabet());
+        assertTrue(finiteAutomaton.acceptsCharacters("abbc"));
+        assertFalse(finiteAutomaton.acceptsCharacters("abbd"));
+        assertFalse(finiteAutomaton.acceptsCharacters("ab\u00e9"));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            finiteAutomaton.acceptsCharacters("");
+        });
+    }
+
+    @Test
+    public void textCannotBeReadCharacterByCharacterWhenSymbolsAreLonger() {
+        var finiteAutomaton = new FiniteAutomaton(Set.of(new Transition(someStates[0], "ab", someStates[3])));
+
+        assertFalse(finiteAutomaton.isACharacterAlphabet());
+
+        assertThrows(IllegalStateException.class, () -> {
+            finiteAutomaton.acceptsCharacters("ab");
+        });
+    }
+
+    @Test
+    public void tokenizedSentencesGiveTheSameResults() {
+        var finiteAutomaton = (FiniteAutomaton) automaton;
+        var symbolTable = finiteAutomaton.getSymbolTable();
+
+        assertTrue(finiteAutomaton.simulate(symbolTable.tokenize("a", "b", "b", "c")).wasSentenceAccepted());
+        assertFalse(finiteAutomaton.simulate(symbolTable.tokenize("a", "b", "b", "d")).wasSentenceAccepted());
+        assertFalse(finiteAutomaton.simulate(symbolTable.tokenize("a", "x")).wasSentenceAccepted());
+        assertEquals(List.of(someStates[0], someStates[1], someStates[3]),
+                finiteAutomaton.simulate(symbolTable.tokenize("a b")).getVisitedStates());
+        assertTrue(finiteAutomaton.accepts(symbolTable.tokenize("a b b c")));
+    }
+
+    @Test
+    public void longSentencesAreSimulatedWithoutBacktracking() {
+        // backtracking on (a|b)*a(a|b)^n takes exponential time
+        var n = 20;
+        var nonDeterministicAutomaton = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(n);
+        var sentence = new String[100_000];
+
+        Arrays.fill(sentence, "b");
+        sentence[sentence.length - n - 1] = "a";
+
+        var result = nonDeterministicAutomaton.simulate(sentence);
+
+        assertTrue(result.wasSentenceAccepted());
+        assertEquals(sentence.length + 1, result.getVisitedStates().size());
+        assertEquals(new State("q" + (n + 1)), result.getVisitedStates().get(sentence.length));
+
+        sentence[sentence.length - n - 1] = "b";
+
+        assertFalse(nonDeterministicAutomaton.simulate(sentence).wasSentenceAccepted());
+    }
+
+    @Test
+    public void epsilonTransitionsAreFollowedWithoutReadingSymbols() {
+        // a* followed by b*, joined by epsilon transitions through 1
+        var states = new State[] { new State("0"), new State("1"), new State("2") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[2].setIfIsAFinalState(true);
+
+        var epsilonAutomaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[0]),
+                new Transition(states[0], BaseTransition.EPSILON, states[1]),
+                new Transition(states[1], BaseTransition.EPSILON, states[2]),
+                new Transition(states[2], "b", states[2])));
+
+        assertEquals(Set.of("a", "b"), epsilonAutomaton.getAlphabet());
+        assertTrue(epsilonAutomaton.hasEpsilonTransitions());
+        assertFalse(epsilonAutomaton.isDeterministic());
+
+        assertTrue(epsilonAutomaton.accepts("a"));
+        assertTrue(epsilonAutomaton.accepts("b"));
+        assertTrue(epsilonAutomaton.accepts("a", "a", "b", "b"));
+        assertFalse(epsilonAutomaton.accepts("b", "a"));
+
+        var result = epsilonAutomaton.simulate("a", "b");
+
+        assertTrue(result.wasSentenceAccepted());
+        assertEquals(states[2], result.getVisitedStates().get(2));
+    }
+
+    @Test
+    public void epsilonCyclesShareTheirClosures() {
+        // a* b, where 0 and 1 form an epsilon cycle that 3 goes back to
+        var states = new State[] { new State("0"), new State("1"), new State("2"), new State("3"), new State("4") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[4].setIfIsAFinalState(true);
+
+        var epsilonAutomaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], BaseTransition.EPSILON, states[1]),
+                new Transition(states[1], BaseTransition.EPSILON, states[0], states[2]),
+                new Transition(states[2], "a", states[3]),
+                new Transition(states[3], BaseTransition.EPSILON, states[1]),
+                new Transition(states[0], "b", states[4])));
+
+        assertTrue(epsilonAutomaton.accepts("b"));
+        assertTrue(epsilonAutomaton.accepts("a", "b"));
+        assertTrue(epsilonAutomaton.accepts("a", "a", "a", "b"));
+        assertFalse(epsilonAutomaton.accepts("a"));
+        assertFalse(epsilonAutomaton.accepts("b", "a"));
+    }
 }
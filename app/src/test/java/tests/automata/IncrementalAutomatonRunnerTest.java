@@ -0,0 +1,120 @@
+package tests.automata;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.IncrementalAutomatonRunner;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+
+public class IncrementalAutomatonRunnerTest {
+    private IFiniteAutomaton deterministicAutomaton;
+    private IFiniteAutomaton nonDeterministicAutomaton;
+
+    @Before
+    public void setup() {
+        var states = new BaseState[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+
+        states[1].setIfIsAFinalState(true);
+
+        nonDeterministicAutomaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[0], states[1]),
+                new Transition(states[1], "b", states[1])));
+
+        deterministicAutomaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "b", states[1])));
+    }
+
+    @Test
+    public void throwsIfTheArgumentsAreInvalid() {
+        assertThrows(NullPointerException.class, () -> {
+            new IncrementalAutomatonRunner(null);
+        });
+
+        var runner = new IncrementalAutomatonRunner(deterministicAutomaton);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            runner.feed("");
+        });
+    }
+
+    @Test
+    public void reportsAcceptanceAfterEachSymbol() {
+        for (var automaton : new IFiniteAutomaton[] { deterministicAutomaton, nonDeterministicAutomaton }) {
+            var runner = new IncrementalAutomatonRunner(automaton);
+
+            assertFalse(runner.isSentenceAccepted());
+
+            runner.feed("a");
+            assertTrue(runner.isSentenceAccepted());
+
+            runner.feed("b", "b");
+            assertTrue(runner.isSentenceAccepted());
+
+            runner.feed("a");
+            assertFalse(runner.isSentenceAccepted());
+            assertTrue(runner.isStuck());
+            assertEquals(4, runner.getConsumedSymbols());
+
+            runner.reset();
+            runner.feed("x");
+            assertTrue(runner.isStuck());
+        }
+    }
+
+    @Test
+    public void symbolsSplitBetweenChunksAreJoined() {
+        var states = new BaseState[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new FiniteAutomaton(Set.of(new Transition(states[0], "ab", states[1])));
+        var runner = new IncrementalAutomatonRunner(automaton);
+
+        runner.feed(CharBuffer.wrap(" a"));
+        runner.feed(CharBuffer.wrap("b"));
+
+        assertEquals(0, runner.getConsumedSymbols());
+
+        runner.completePendingSymbol();
+
+        assertEquals(1, runner.getConsumedSymbols());
+        assertTrue(runner.isSentenceAccepted());
+    }
+
+    @Test
+    public void readsSymbolsFromReadersAndStreams() throws IOException {
+        var runner = new IncrementalAutomatonRunner(nonDeterministicAutomaton);
+        var input = new StringBuilder("a");
+
+        for (var i = 0; i < 10_000; i++) {
+            input.append(i % 2 == 0 ? " b" : "\nb");
+        }
+
+        runner.feed(new StringReader(input.toString()));
+
+        assertTrue(runner.isSentenceAccepted());
+        assertEquals(10_001, runner.getConsumedSymbols());
+
+        runner.reset();
+        runner.feed(new ByteArrayInputStream("a a b a".getBytes(StandardCharsets.UTF_8)));
+
+        assertFalse(runner.isSentenceAccepted());
+    }
+}
@@ -0,0 +1,276 @@
+package tests.automata;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.LazyDeterministicAutomaton;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.AutomatonMatch;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.MatchPolicy;
+
+public class LazyDeterministicAutomatonTest {
+    private IFiniteAutomaton nonDeterministicAutomaton;
+
+    @Before
+    public void setup() {
+        var states = new BaseState[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+
+        states[1].setIfIsAFinalState(true);
+
+        var transitions = Set.of(
+                new Transition(states[0], "a", states[0], states[1]),
+                new Transition(states[1], "b", states[1]));
+
+        nonDeterministicAutomaton = new FiniteAutomaton(transitions);
+    }
+
+    @Test
+    public void throwsIfTheAutomatonIsNullOrTheCacheCannotFitThreeStates() {
+        assertThrows(NullPointerException.class, () -> {
+            new LazyDeterministicAutomaton(null);
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new LazyDeterministicAutomaton(nonDeterministicAutomaton, 1);
+        });
+    }
+
+    @Test
+    public void acceptsTheSameSentencesAsTheSourceAutomaton() {
+        var lazyAutomaton = new LazyDeterministicAutomaton(nonDeterministicAutomaton);
+
+        assertTrue(lazyAutomaton.accepts("a"));
+        assertTrue(lazyAutomaton.accepts("a", "a", "b", "b"));
+        assertFalse(lazyAutomaton.accepts("b"));
+        assertFalse(lazyAutomaton.accepts("a", "b", "a"));
+        assertFalse(lazyAutomaton.accepts("x"));
+    }
+
+    @Test
+    public void visitedStatesAreTheDeterministicStates() {
+        var lazyAutomaton = new LazyDeterministicAutomaton(nonDeterministicAutomaton);
+        var result = lazyAutomaton.simulate("a", "a", "b");
+
+        assertTrue(result.wasSentenceAccepted());
+        assertEquals(List.of(new State("0"), new State("[0, 1]"), new State("[0, 1]"), new State("1")),
+                result.getVisitedStates());
+    }
+
+    @Test
+    public void findsMatchesWithEachPolicy() {
+        var lazyAutomaton = new LazyDeterministicAutomaton(nonDeterministicAutomaton);
+        var symbols = new String[] { "a", "b", "a", "a", "b" };
+
+        assertEquals(List.of(
+                new AutomatonMatch(0, 1),
+                new AutomatonMatch(0, 2),
+                new AutomatonMatch(2, 3),
+                new AutomatonMatch(2, 4),
+                new AutomatonMatch(2, 5),
+                new AutomatonMatch(3, 4),
+                new AutomatonMatch(3, 5)), lazyAutomaton.findMatches(MatchPolicy.ALL_OVERLAPPING, symbols));
+
+        assertEquals(List.of(new AutomatonMatch(0, 2), new AutomatonMatch(2, 5)),
+                lazyAutomaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, symbols));
+
+        assertEquals(lazyAutomaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, symbols),
+                nonDeterministicAutomaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, symbols));
+    }
+
+    @Test
+    public void transitionsAreComputedOnceAndThenHitTheCache() {
+        var lazyAutomaton = new LazyDeterministicAutomaton(nonDeterministicAutomaton);
+
+        lazyAutomaton.accepts("a", "a", "b");
+
+        assertEquals(3, lazyAutomaton.getCacheMisses());
+        assertEquals(0, lazyAutomaton.getCacheHits());
+        assertEquals(3, lazyAutomaton.getCachedStatesCount());
+
+        lazyAutomaton.accepts("a", "a", "b");
+
+        assertEquals(3, lazyAutomaton.getCacheMisses());
+        assertEquals(3, lazyAutomaton.getCacheHits());
+    }
+
+    // 0 -a-> 1 -a-> 2 -b-> 3 -c-> 2, with 2 final
+    private static IFiniteAutomaton createLoopingChainAutomaton() {
+        var states = new BaseState[] { new State("0"), new State("1"), new State("2"), new State("3") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[2].setIfIsAFinalState(true);
+
+        return new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "a", states[2]),
+                new Transition(states[2], "b", states[3]),
+                new Transition(states[3], "c", states[2])));
+    }
+
+    private static LazyDeterministicAutomaton createWithACacheOfThreeStates(IFiniteAutomaton automaton) {
+        var stateSize = new LazyDeterministicAutomaton(automaton).getEstimatedStateSizeInBytes();
+
+        return new LazyDeterministicAutomaton(automaton, 3 * stateSize);
+    }
+
+    @Test
+    public void cacheMustFitThreeStates() {
+        var stateSize = new LazyDeterministicAutomaton(nonDeterministicAutomaton).getEstimatedStateSizeInBytes();
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new LazyDeterministicAutomaton(nonDeterministicAutomaton, 3 * stateSize - 1);
+        });
+
+        assertEquals(3 * stateSize,
+                new LazyDeterministicAutomaton(nonDeterministicAutomaton, 3 * stateSize).getMaximumCacheSizeInBytes());
+    }
+
+    @Test
+    public void cacheIsFlushedWhenItIsFull() {
+        var lazyAutomaton = createWithACacheOfThreeStates(createLoopingChainAutomaton());
+
+        // {0}, {1} and {2} fill the cache, so reaching {3} flushes it
+        assertTrue(lazyAutomaton.accepts("a", "a"));
+        assertEquals(0, lazyAutomaton.getCacheFlushes());
+        assertEquals(3, lazyAutomaton.getCachedStatesCount());
+
+        assertFalse(lazyAutomaton.accepts("a", "a", "b"));
+        assertEquals(1, lazyAutomaton.getCacheFlushes());
+        assertEquals(3, lazyAutomaton.getCachedStatesCount());
+
+        var largeCacheAutomaton = new LazyDeterministicAutomaton(createLoopingChainAutomaton());
+
+        assertFalse(largeCacheAutomaton.accepts("a", "a", "b"));
+        assertEquals(0, largeCacheAutomaton.getCacheFlushes());
+        assertEquals(4, largeCacheAutomaton.getCachedStatesCount());
+    }
+
+    @Test
+    public void theOriginIsLinkedToTheStateThatFlushedTheCache() {
+        var lazyAutomaton = createWithACacheOfThreeStates(createLoopingChainAutomaton());
+
+        // the flush happens at the first b; the following b is read from {2} again
+        assertTrue(lazyAutomaton.accepts("a", "a", "b", "c", "b", "c"));
+        assertEquals(1, lazyAutomaton.getCacheFlushes());
+        assertEquals(4, lazyAutomaton.getCacheMisses());
+        assertEquals(2, lazyAutomaton.getCacheHits());
+    }
+
+    @Test
+    public void sentencesThatCrossAFlushGiveTheSameResults() {
+        var automaton = createLoopingChainAutomaton();
+        var lazyAutomaton = createWithACacheOfThreeStates(automaton);
+        var sentence = new String[] { "a", "a", "b", "c", "b", "c", "b" };
+
+        var result = lazyAutomaton.simulate(sentence);
+
+        assertEquals(1, lazyAutomaton.getCacheFlushes());
+        assertFalse(result.wasSentenceAccepted());
+        assertEquals(List.of(new State("0"), new State("1"), new State("2"), new State("3"), new State("2"),
+                new State("3"), new State("2"), new State("3")), result.getVisitedStates());
+
+        var otherLazyAutomaton = createWithACacheOfThreeStates(automaton);
+
+        assertEquals(automaton.findMatches(MatchPolicy.ALL_OVERLAPPING, sentence),
+                otherLazyAutomaton.findMatches(MatchPolicy.ALL_OVERLAPPING, sentence));
+        assertTrue(otherLazyAutomaton.getCacheFlushes() > 0);
+        assertTrue(otherLazyAutomaton.accepts("a", "a", "b", "c"));
+    }
+
+    @Test
+    public void scansFindTheSameMatchesAsCheckingEverySubsentence() {
+        var lazyAutomaton = new LazyDeterministicAutomaton(nonDeterministicAutomaton);
+        var random = new Random(42);
+
+        for (var i = 0; i < 200; i++) {
+            var sentence = createRandomSentence(random, "a", "b", "x");
+
+            assertEquals(findEveryMatchOneByOne(nonDeterministicAutomaton, sentence),
+                    lazyAutomaton.findMatches(MatchPolicy.ALL_OVERLAPPING, sentence));
+            assertEquals(findLeftmostLongestMatchesOneByOne(nonDeterministicAutomaton, sentence),
+                    lazyAutomaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, sentence));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void scansRunsThatNeverMatchInLinearTime() {
+        var states = new BaseState[] { new State("0"), new State("1"), new State("2") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[2].setIfIsAFinalState(true);
+
+        // a(a|b)*c with a non deterministic choice on every a
+        var automaton = new LazyDeterministicAutomaton(new FiniteAutomaton(Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "a", states[1], states[0]),
+                new Transition(states[1], "b", states[1]),
+                new Transition(states[1], "c", states[2]))));
+
+        var sentence = new String[200000];
+        Arrays.fill(sentence, "a");
+
+        assertEquals(List.of(), automaton.findMatches(MatchPolicy.LEFTMOST_LONGEST, sentence));
+        assertEquals(List.of(), automaton.findMatches(MatchPolicy.ALL_OVERLAPPING, sentence));
+    }
+
+    private static List<AutomatonMatch> findEveryMatchOneByOne(IFiniteAutomaton automaton, String[] symbols) {
+        var matches = new ArrayList<AutomatonMatch>();
+
+        for (var start = 0; start < symbols.length; start++) {
+            for (var end = start + 1; end <= symbols.length; end++) {
+                if (automaton.accepts(Arrays.copyOfRange(symbols, start, end))) {
+                    matches.add(new AutomatonMatch(start, end));
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    private static List<AutomatonMatch> findLeftmostLongestMatchesOneByOne(IFiniteAutomaton automaton, String[] symbols) {
+        var matches = new ArrayList<AutomatonMatch>();
+        var start = 0;
+
+        while (start < symbols.length) {
+            var longestMatchEnd = -1;
+
+            for (var end = start + 1; end <= symbols.length; end++) {
+                if (automaton.accepts(Arrays.copyOfRange(symbols, start, end))) {
+                    longestMatchEnd = end;
+                }
+            }
+
+            if (longestMatchEnd == -1) {
+                start++;
+            } else {
+                matches.add(new AutomatonMatch(start, longestMatchEnd));
+                start = longestMatchEnd;
+            }
+        }
+
+        return matches;
+    }
+
+    private static String[] createRandomSentence(Random random, String... symbols) {
+        var sentence = new String[1 + random.nextInt(12)];
+
+        for (var i = 0; i < sentence.length; i++) {
+            sentence[i] = symbols[random.nextInt(symbols.length)];
+        }
+
+        return sentence;
+    }
+}
@@ -0,0 +1,98 @@
+package tests.automata;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.FiniteAutomatonConverter;
+import automata.ParallelFiniteAutomatonConverter;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseTransition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.IFiniteAutomatonConverter;
+
+public class ParallelFiniteAutomatonConverterTest {
+    private IFiniteAutomatonConverter converter;
+    private IFiniteAutomaton automatonToBeConverted;
+
+    @Before
+    public void setup() {
+        converter = new ParallelFiniteAutomatonConverter();
+
+        automatonToBeConverted = TestAutomata.createAutomatonWhoseNthSymbolFromTheEndIsA(8);
+    }
+
+    @Test
+    public void throwsIfTheAutomatonIsNullOrDeterministic() {
+        assertThrows(NullPointerException.class, () -> {
+            converter.convertNonDeterministicAutomatonToADeterministicOne(null);
+        });
+
+        var states = new State[] { new State("0"), new State("1") };
+        states[0].setIfIsTheInitialState(true);
+
+        var automaton = new FiniteAutomaton(Set.of(new Transition(states[0], "a", states[1])));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            converter.convertNonDeterministicAutomatonToADeterministicOne(automaton);
+        });
+    }
+
+    @Test
+    public void buildsTheSameAutomatonAsTheSequentialConverter() {
+        var pool = new ForkJoinPool(4);
+
+        try {
+            var parallel = new ParallelFiniteAutomatonConverter(pool)
+                    .convertNonDeterministicAutomatonToADeterministicOne(automatonToBeConverted);
+            var sequential = new FiniteAutomatonConverter()
+                    .convertNonDeterministicAutomatonToADeterministicOne(automatonToBeConverted);
+
+            assertTrue(parallel.isDeterministic());
+            assertEquals(sequential.getAllStates(), parallel.getAllStates());
+            assertEquals(sequential.getFinalStates(), parallel.getFinalStates());
+            assertEquals(sequential.getInitialState(), parallel.getInitialState());
+
+            for (var state : sequential.getAllStates()) {
+                for (var symbol : sequential.getAlphabet()) {
+                    assertEquals(sequential.getTransitionFunction().whereToGoWith(state, symbol),
+                            parallel.getTransitionFunction().whereToGoWith(state, symbol));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void convertsAutomataThatOnlyAcceptTheEmptySentence() {
+        var states = new State[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new FiniteAutomaton(
+                Set.of(new Transition(states[0], BaseTransition.EPSILON, states[1])),
+                Set.of(states),
+                Set.of("a"));
+
+        var pool = new ForkJoinPool(1);
+
+        try {
+            var converted = new ParallelFiniteAutomatonConverter(pool)
+                    .convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+            assertEquals(Set.of(new State("[0, 1]")), converted.getAllStates());
+            assertTrue(converted.getInitialState().isAFinalState());
+            assertEquals(Set.of("a"), converted.getAlphabet());
+            assertFalse(converted.accepts("a"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
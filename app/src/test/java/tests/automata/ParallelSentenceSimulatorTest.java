@@ -0,0 +1,93 @@
+package tests.automata;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.ParallelSentenceSimulator;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+
+public class ParallelSentenceSimulatorTest {
+    private IFiniteAutomaton automaton;
+    private List<String[]> sentences;
+
+    @Before
+    public void setup() {
+        var states = new BaseState[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+
+        states[1].setIfIsAFinalState(true);
+
+        var transitions = Set.of(
+                new Transition(states[0], "a", states[0], states[1]),
+                new Transition(states[1], "b", states[1]));
+
+        automaton = new FiniteAutomaton(transitions);
+        sentences = new ArrayList<>();
+
+        for (var i = 0; i < 10_000; i++) {
+            sentences.add(i % 3 == 0 ? new String[] { "a", "b" } : new String[] { "b", "a" });
+        }
+    }
+
+    @Test
+    public void throwsIfTheArgumentsAreInvalid() {
+        assertThrows(NullPointerException.class, () -> {
+            new ParallelSentenceSimulator(null);
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new ParallelSentenceSimulator(automaton).simulateAll(List.of());
+        });
+    }
+
+    @Test
+    public void resultsKeepTheInputOrder() {
+        var results = new ParallelSentenceSimulator(automaton).simulateAll(sentences);
+
+        assertEquals(sentences.size(), results.size());
+
+        for (var i = 0; i < results.size(); i++) {
+            assertEquals(i % 3 == 0, results.get(i).wasSentenceAccepted());
+        }
+    }
+
+    @Test
+    public void acceptanceOnlyResultsKeepTheInputOrder() {
+        var accepted = new ParallelSentenceSimulator(automaton).acceptAll(sentences);
+
+        assertEquals(sentences.size(), accepted.length);
+
+        for (var i = 0; i < accepted.length; i++) {
+            assertEquals(i % 3 == 0, accepted[i]);
+        }
+    }
+
+    @Test
+    public void canRunOnAGivenPool() {
+        var pool = new ForkJoinPool(2);
+
+        try {
+            var simulator = new ParallelSentenceSimulator(automaton, pool);
+            var results = simulator.simulateAll(sentences);
+            var accepted = simulator.acceptAll(sentences);
+
+            for (var i = 0; i < sentences.size(); i++) {
+                assertEquals(automaton.accepts(sentences.get(i)), results.get(i).wasSentenceAccepted());
+                assertEquals(automaton.accepts(sentences.get(i)), accepted[i]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package tests.automata;
+
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.ProductAutomaton;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.IFiniteAutomaton;
+import automata.abstractions.ProductOperation;
+
+public class ProductAutomatonTest {
+    private IFiniteAutomaton onlyAs;
+    private IFiniteAutomaton onlyBs;
+
+    @Before
+    public void setup() {
+        var aStates = new State[] { new State("0"), new State("1") };
+
+        aStates[0].setIfIsTheInitialState(true);
+        aStates[1].setIfIsAFinalState(true);
+
+        onlyAs = new FiniteAutomaton(Set.of(
+                new Transition(aStates[0], "a", aStates[1]),
+                new Transition(aStates[1], "a", aStates[1])));
+
+        var bStates = new State[] { new State("0"), new State("1") };
+
+        bStates[0].setIfIsTheInitialState(true);
+        bStates[1].setIfIsAFinalState(true);
+
+        onlyBs = new FiniteAutomaton(Set.of(
+                new Transition(bStates[0], "b", bStates[1]),
+                new Transition(bStates[1], "b", bStates[1])));
+    }
+
+    @Test
+    public void throwsIfAnyArgumentIsNull() {
+        assertThrows(NullPointerException.class, () -> {
+            new ProductAutomaton(null, onlyBs, ProductOperation.UNION);
+        });
+
+        assertThrows(NullPointerException.class, () -> {
+            new ProductAutomaton(onlyAs, onlyBs, null);
+        });
+    }
+
+    @Test
+    public void readsTheUnionOfTheAlphabets() {
+        var union = new ProductAutomaton(onlyAs, onlyBs, ProductOperation.UNION);
+
+        assertEquals(2, union.getSymbolTable().size());
+        assertTrue(union.accepts("a", "a"));
+        assertTrue(union.accepts("b"));
+        assertFalse(union.accepts("a", "b"));
+        assertFalse(union.accepts("c"));
+    }
+
+    @Test
+    public void onlyCreatesThePairsTheInputsReach() {
+        var difference = new ProductAutomaton(onlyAs, onlyBs, ProductOperation.DIFFERENCE);
+
+        assertEquals(1, difference.getPairCount());
+        assertTrue(difference.accepts("a", "a", "a"));
+        assertEquals(2, difference.getPairCount());
+
+        // the first operand dies reading b, so no pair is created for it
+        assertFalse(difference.accepts("b"));
+        assertEquals(2, difference.getPairCount());
+    }
+
+    @Test
+    public void simulationVisitsThePairs() {
+        var union = new ProductAutomaton(onlyAs, onlyBs, ProductOperation.UNION);
+        var result = union.simulate("a", "a");
+
+        assertTrue(result.wasSentenceAccepted());
+        assertEquals(new State("(0, 0)"), result.getVisitedStates().get(0));
+        assertEquals(new State("(1, [])"), result.getVisitedStates().get(2));
+    }
+
+    @Test
+    public void anEmptyProductIsBuiltWithTheInitialPairOnly() {
+        var intersection = new ProductAutomaton(onlyAs, onlyBs, ProductOperation.INTERSECTION);
+        var automaton = intersection.toFiniteAutomaton();
+
+        assertFalse(intersection.accepts("a"));
+        assertEquals(Set.of(new State("(0, 0)")), automaton.getAllStates());
+        assertEquals(Set.of("a", "b"), automaton.getAlphabet());
+        assertFalse(automaton.accepts("a"));
+    }
+}
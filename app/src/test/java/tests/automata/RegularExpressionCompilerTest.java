@@ -0,0 +1,141 @@
+package tests.automata;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.FiniteAutomatonAnalyzer;
+import automata.FiniteAutomatonConverter;
+import automata.RegularExpressionCompiler;
+import automata.abstractions.IRegularExpressionCompiler;
+
+public class RegularExpressionCompilerTest {
+    private IRegularExpressionCompiler compiler;
+
+    @Before
+    public void setup() {
+        compiler = new RegularExpressionCompiler();
+    }
+
+    private FiniteAutomaton compile(String pattern) {
+        return (FiniteAutomaton) compiler.compile(pattern);
+    }
+
+    @Test
+    public void throwsIfThePatternIsNullOrEmpty() {
+        assertThrows(NullPointerException.class, () -> {
+            compiler.compile(null);
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            compiler.compile("");
+        });
+    }
+
+    @Test
+    public void throwsIfThePatternIsMalformed() {
+        for (var pattern : new String[] { "(ab", "ab)", "*a", "a|+", "[ab", "[]", "[b-a]", "[^a]", "a\\" }) {
+            assertThrows(pattern, IllegalArgumentException.class, () -> {
+                compiler.compile(pattern);
+            });
+        }
+    }
+
+    @Test
+    public void compilesConcatenationAlternationAndRepetition() {
+        var automaton = compile("a(b|c)*d+e?");
+
+        assertEquals(Set.of("a", "b", "c", "d", "e"), automaton.getAlphabet());
+        assertTrue(automaton.acceptsCharacters("ad"));
+        assertTrue(automaton.acceptsCharacters("abcbddde"));
+        assertFalse(automaton.acceptsCharacters("a"));
+        assertFalse(automaton.acceptsCharacters("adee"));
+        assertFalse(automaton.acceptsCharacters("bd"));
+    }
+
+    @Test
+    public void compilesCharacterClassesAndEscapes() {
+        var automaton = compile("[a-c_]+\\*[-x]");
+
+        assertTrue(automaton.acceptsCharacters("ab_c*-"));
+        assertTrue(automaton.acceptsCharacters("a*x"));
+        assertFalse(automaton.acceptsCharacters("d*x"));
+        assertFalse(automaton.acceptsCharacters("a*"));
+    }
+
+    @Test
+    public void emptyAlternativesMatchTheEmptySentence() {
+        var automaton = compile("a(b|)c");
+
+        assertTrue(automaton.acceptsCharacters("abc"));
+        assertTrue(automaton.acceptsCharacters("ac"));
+        assertFalse(automaton.acceptsCharacters("abbc"));
+    }
+
+    @Test
+    public void patternsWithoutSymbolsOnlyMatchTheEmptySentence() {
+        var analyzer = new FiniteAutomatonAnalyzer();
+
+        for (var pattern : new String[] { "()", "(|)" }) {
+            var automaton = compile(pattern);
+
+            assertTrue(pattern, automaton.getAlphabet().isEmpty());
+            assertEquals(pattern, Optional.of(List.of()), analyzer.findShortestAcceptedSentence(automaton));
+            assertTrue(pattern, analyzer.acceptsFinitelyManySentences(automaton));
+        }
+    }
+
+    @Test
+    public void compilesPatternsWithThousandsOfAlternatives() {
+        var pattern = new StringBuilder();
+
+        for (var i = 0; i < 3000; i++) {
+            if (i > 0) {
+                pattern.append('|');
+            }
+
+            pattern.append(i);
+        }
+
+        var automaton = compile(pattern.toString());
+
+        assertTrue(automaton.acceptsCharacters("2999"));
+        assertTrue(automaton.acceptsCharacters("0"));
+        assertFalse(automaton.acceptsCharacters("3000"));
+
+        var converted = new FiniteAutomatonConverter().convertNonDeterministicAutomatonToADeterministicOne(automaton);
+
+        assertTrue(converted.accepts("1", "2", "3"));
+        assertFalse(converted.accepts("0", "1"));
+    }
+
+    /*
+     * The tests run with a bounded heap (see build.gradle), so the
+     * automaton of about 10^5 states must be built in linear memory
+     */
+    @Test
+    public void compilesPatternsWithAHundredThousandStates() {
+        var pattern = new StringBuilder();
+
+        for (var i = 0; i < 12000; i++) {
+            if (i > 0) {
+                pattern.append('|');
+            }
+
+            pattern.append('w').append(i);
+        }
+
+        var automaton = compile(pattern.toString());
+
+        assertTrue(automaton.getAllStates().size() > 100000);
+        assertTrue(automaton.acceptsCharacters("w11999"));
+        assertTrue(automaton.acceptsCharacters("w0"));
+        assertFalse(automaton.acceptsCharacters("w12000"));
+        assertFalse(automaton.acceptsCharacters("9999"));
+    }
+}
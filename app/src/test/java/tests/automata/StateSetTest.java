@@ -0,0 +1,83 @@
+package tests.automata;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.StateSet;
+
+public class StateSetTest {
+    @Test
+    public void throwsIfTheNumberOfStatesIsNegative() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new StateSet(-1);
+        });
+    }
+
+    @Test
+    public void addedStatesAreContainedAcrossWords() {
+        var set = new StateSet(200);
+
+        set.add(0);
+        set.add(63);
+        set.add(64);
+        set.add(199);
+
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(63));
+        assertTrue(set.contains(64));
+        assertTrue(set.contains(199));
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(128));
+        assertEquals(4, set.size());
+    }
+
+    @Test
+    public void iteratesOverTheStatesInIncreasingOrder() {
+        var set = new StateSet(200);
+
+        set.add(130);
+        set.add(5);
+        set.add(64);
+
+        assertEquals(5, set.nextStateId(0));
+        assertEquals(64, set.nextStateId(6));
+        assertEquals(130, set.nextStateId(65));
+        assertEquals(-1, set.nextStateId(131));
+    }
+
+    @Test
+    public void unionAndIntersectionWorkWordWise() {
+        var first = new StateSet(100);
+        var second = new StateSet(100);
+
+        first.add(1);
+        second.add(70);
+
+        assertFalse(first.intersects(second));
+
+        first.addAll(second);
+
+        assertTrue(first.contains(70));
+        assertTrue(first.intersects(second));
+    }
+
+    @Test
+    public void setsWithTheSameStatesAreEqual() {
+        var first = new StateSet(100);
+        var second = new StateSet(100);
+
+        first.add(3);
+        first.add(90);
+        second.add(90);
+        second.add(3);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first, first.copy());
+
+        second.clear();
+
+        assertTrue(second.isEmpty());
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,47 @@
+package tests.automata;
+
+import java.util.Set;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.SymbolTable;
+
+public class SymbolTableTest {
+    private final SymbolTable symbolTable = new SymbolTable(Set.of("b", "a", "ccc"));
+
+    @Test
+    public void symbolsAreNumberedFollowingTheirOrder() {
+        assertEquals(3, symbolTable.size());
+        assertEquals(0, symbolTable.idOf("a"));
+        assertEquals(1, symbolTable.idOf("b"));
+        assertEquals(2, symbolTable.idOf("ccc"));
+        assertEquals("ccc", symbolTable.symbolOf(2));
+    }
+
+    @Test
+    public void symbolsAreCaseSensitive() {
+        assertEquals(SymbolTable.NO_ID, symbolTable.idOf("A"));
+        assertFalse(symbolTable.containsId(SymbolTable.NO_ID));
+        assertFalse(symbolTable.containsId(3));
+    }
+
+    @Test
+    public void tokenizesSentencesAndTexts() {
+        assertArrayEquals(new int[] { 1, SymbolTable.NO_ID, 2 }, symbolTable.tokenize("b", "x", "ccc"));
+        assertArrayEquals(new int[] { 0, 2, 1 }, symbolTable.tokenize("  a\tccc\n b "));
+        assertArrayEquals(new int[0], symbolTable.tokenize("   "));
+    }
+
+    @Test
+    public void throwsIfTheSentenceIsNullOrEmpty() {
+        assertThrows(NullPointerException.class, () -> {
+            String[] sentence = null;
+            symbolTable.tokenize(sentence);
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            symbolTable.tokenize(new String[0]);
+        });
+    }
+}
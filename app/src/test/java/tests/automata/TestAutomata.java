@@ -0,0 +1,40 @@
+package tests.automata;
+
+import java.util.HashSet;
+
+import automata.FiniteAutomaton;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseTransition;
+
+/*
+ * Automata shared by the tests of this package
+ */
+public class TestAutomata {
+    /*
+     * (a|b)*a(a|b)^n, the sentences whose (n + 1)th symbol from the end
+     * is an a: its states are q0 to q(n + 1), and its deterministic
+     * automaton has 2^(n + 1) states, none of them equivalent
+     */
+    public static FiniteAutomaton createAutomatonWhoseNthSymbolFromTheEndIsA(int n) {
+        var states = new State[n + 2];
+
+        for (var i = 0; i < states.length; i++) {
+            states[i] = new State("q" + i);
+        }
+
+        states[0].setIfIsTheInitialState(true);
+        states[n + 1].setIfIsAFinalState(true);
+
+        var transitions = new HashSet<BaseTransition>();
+        transitions.add(new Transition(states[0], "a", states[0], states[1]));
+        transitions.add(new Transition(states[0], "b", states[0]));
+
+        for (var i = 1; i <= n; i++) {
+            transitions.add(new Transition(states[i], "a", states[i + 1]));
+            transitions.add(new Transition(states[i], "b", states[i + 1]));
+        }
+
+        return new FiniteAutomaton(transitions);
+    }
+}
@@ -0,0 +1,87 @@
+package tests.files;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import automata.FiniteAutomaton;
+import automata.State;
+import automata.Transition;
+import automata.abstractions.BaseState;
+import automata.abstractions.IFiniteAutomaton;
+
+import files.AutomatonToBinaryFileSaver;
+import files.IAutomatonToBinaryFileSaver;
+
+public class AutomatonToBinaryFileSaverTest {
+    private IAutomatonToBinaryFileSaver saver;
+    private IFiniteAutomaton automatonToSave;
+
+    @Before
+    public void setup() {
+        saver = new AutomatonToBinaryFileSaver();
+
+        var states = new BaseState[] { new State("0"), new State("1") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var transitions = Set.of(
+                new Transition(states[0], "a", states[1]),
+                new Transition(states[1], "b", states[1]));
+
+        automatonToSave = new FiniteAutomaton(transitions);
+    }
+
+    @Test
+    public void throwsIfAutomatonOrFileNameAreInvalid() {
+        assertThrows(NullPointerException.class, () -> {
+            saver.saveToFile(null, "hey.dfa");
+        });
+
+        assertThrows(NullPointerException.class, () -> {
+            saver.saveToFile(automatonToSave, null);
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            saver.saveToFile(automatonToSave, "bla.jff");
+        });
+    }
+
+    @Test
+    public void throwsIfTheAutomatonIsNotDeterministic() {
+        var state = new State("0");
+        state.setIfIsTheInitialState(true);
+        state.setIfIsAFinalState(true);
+
+        var nonDeterministic = new FiniteAutomaton(Set.of(new Transition(state, "a", state, new State("1"))));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            saver.saveToFile(nonDeterministic, "bla.dfa");
+        });
+    }
+
+    @Test
+    public void writesTheHeaderAndTheTables() throws IOException {
+        var path = Files.createTempFile("saved", ".dfa");
+        path.toFile().deleteOnExit();
+
+        saver.saveToFile(automatonToSave, path.toString());
+
+        try (var input = new DataInputStream(Files.newInputStream(path))) {
+            assertEquals(0x41555441, input.readInt());
+            assertEquals(1, input.readInt());
+            assertEquals(2, input.readInt());
+            assertEquals(2, input.readInt());
+        }
+
+        // header, "a", "b", "0", "1", padding, one bitset word, 2 x 2 table
+        assertEquals(16 + 4 * 5 + 4 + 8 + 16, Files.size(path));
+    }
+}
@@ -2,11 +2,12 @@ package tests.files;
 
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Set;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import static org.junit.Assert.*;
 
@@ -18,8 +19,12 @@ import automata.abstractions.IFiniteAutomaton;
 
 import files.AutomatonToJffFileSaver;
 import files.IAutomatonToJffFileSaver;
+import files.JffFileParser;
 
 public class AutomatonToJffFileSaverTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private IAutomatonToJffFileSaver saver;
     private IFiniteAutomaton automatonToSave;
 
@@ -64,12 +69,12 @@ public class AutomatonToJffFileSaverTest {
 
     @Test
     public void correctlyAddStatesToFile() throws IOException {
-        var fileName = "testing-conversion.jff";
-        saver.saveToFile(automatonToSave, fileName);
+        var path = temporaryFolder.getRoot().toPath().resolve("testing-conversion.jff");
+        saver.saveToFile(automatonToSave, path.toString());
 
-        assertTrue(Files.exists(Path.of(fileName)));
+        assertTrue(Files.exists(path));
 
-        var fileContent = Files.readAllLines(Path.of(fileName));
+        var fileContent = Files.readAllLines(path);
 
         for (var state : automatonToSave.getAllStates()) {
             assertTrue(fileContent.stream()
@@ -79,12 +84,12 @@ public class AutomatonToJffFileSaverTest {
 
     @Test
     public void correctlyAddTransitionsToFile() throws IOException {
-        var fileName = "testing-conversion.jff";
-        saver.saveToFile(automatonToSave, fileName);
+        var path = temporaryFolder.getRoot().toPath().resolve("testing-conversion.jff");
+        saver.saveToFile(automatonToSave, path.toString());
 
-        assertTrue(Files.exists(Path.of(fileName)));
+        assertTrue(Files.exists(path));
 
-        var fileContent = Files.readAllLines(Path.of(fileName));
+        var fileContent = Files.readAllLines(path);
 
         for (var state : automatonToSave.getAllStates()) {
             for (var symbol : automatonToSave.getAlphabet()) {
@@ -103,4 +108,32 @@ public class AutomatonToJffFileSaverTest {
             }
         }
     }
+
+    @Test
+    public void savedFileCanBeParsedBack() throws IOException {
+        var states = new BaseState[] { new State("<0>"), new State("a&b") };
+
+        states[0].setIfIsTheInitialState(true);
+        states[1].setIfIsAFinalState(true);
+
+        var automaton = new FiniteAutomaton(Set.of(
+                new Transition(states[0], "<", states[1]),
+                new Transition(states[0], "", states[1]),
+                new Transition(states[1], "\"", states[0])));
+
+        var path = Files.createTempFile("saved", ".jff");
+        path.toFile().deleteOnExit();
+
+        new AutomatonToJffFileSaver(false).saveToFile(automaton, path.toString());
+
+        assertFalse(Files.readString(path).contains("<x>"));
+
+        var parsedAutomaton = new JffFileParser().parseFile(path);
+
+        assertEquals(automaton.getAllStates(), parsedAutomaton.getAllStates());
+        assertEquals(automaton.getAlphabet(), parsedAutomaton.getAlphabet());
+        assertEquals(Set.of(states[1]), parsedAutomaton.getTransitionFunction().whereToGoWithoutReadingASymbol(states[0]));
+        assertTrue(parsedAutomaton.accepts("<", "\"", "<"));
+        assertFalse(parsedAutomaton.accepts("<", "<"));
+    }
 }
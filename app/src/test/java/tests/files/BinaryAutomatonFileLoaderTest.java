@@ -0,0 +1,134 @@
+package tests.files;
+
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import automata.CompiledDeterministicAutomaton;
+import automata.State;
+import automata.abstractions.IFiniteAutomaton;
+
+import files.AutomatonToBinaryFileSaver;
+import files.BinaryAutomatonFileLoader;
+import files.IBinaryAutomatonFileLoader;
+import files.JffFileParser;
+
+public class BinaryAutomatonFileLoaderTest {
+    private IBinaryAutomatonFileLoader loader;
+    private IFiniteAutomaton savedAutomaton;
+    private Path savedPath;
+
+    @Before
+    public void setup() throws IOException {
+        loader = new BinaryAutomatonFileLoader();
+
+        var jffFilePath = Path.of(System.getProperty("user.dir"), "src", "main", "resources", "deterministic-automaton.jff");
+        savedAutomaton = new JffFileParser().parseFile(jffFilePath);
+        savedPath = Files.createTempFile("loaded", ".dfa");
+        savedPath.toFile().deleteOnExit();
+
+        new AutomatonToBinaryFileSaver().saveToFile(savedAutomaton, savedPath.toString());
+    }
+
+    @Test
+    public void throwsIfTheFileDoesNotExistAtTheProvidedPath() {
+        assertThrows(NullPointerException.class, () -> {
+            loader.loadFile(null);
+        });
+
+        assertThrows(FileNotFoundException.class, () -> {
+            loader.loadFile(Path.of("bla.dfa"));
+        });
+    }
+
+    @Test
+    public void loadedAutomatonAcceptsTheSameSentences() throws FileNotFoundException {
+        var automaton = loader.loadFile(savedPath);
+        var sentences = new String[][] {
+                { "a" }, { "b" }, { "a", "b" }, { "b", "b", "b" }, { "a", "b", "b", "a" }, { "c" },
+        };
+
+        for (var sentence : sentences) {
+            assertEquals(savedAutomaton.accepts(sentence), automaton.accepts(sentence));
+            assertEquals(
+                    savedAutomaton.simulate(sentence).getVisitedStates(),
+                    automaton.simulate(sentence).getVisitedStates());
+        }
+    }
+
+    @Test
+    public void loadedAutomatonRebuildsItsStatesAndTransitionFunction() throws FileNotFoundException {
+        var automaton = loader.loadFile(savedPath);
+
+        assertEquals(savedAutomaton.getAlphabet(), automaton.getAlphabet());
+        assertEquals(savedAutomaton.getAllStates(), automaton.getAllStates());
+        assertEquals(savedAutomaton.getInitialState(), automaton.getInitialState());
+        assertEquals(savedAutomaton.getFinalStates(), automaton.getFinalStates());
+
+        for (var state : savedAutomaton.getAllStates()) {
+            for (var symbol : savedAutomaton.getAlphabet()) {
+                assertEquals(
+                        savedAutomaton.getTransitionFunction().whereToGoWith(state, symbol),
+                        automaton.getTransitionFunction().whereToGoWith(state, symbol));
+            }
+        }
+    }
+
+    @Test
+    public void throwsIfTheFileIsNotABinaryAutomatonFile() throws IOException {
+        var jffFilePath = Path.of(System.getProperty("user.dir"), "src", "main", "resources", "deterministic-automaton.jff");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            loader.loadFile(jffFilePath);
+        });
+    }
+
+    @Test
+    public void throwsIfTheVersionIsNotSupported() throws IOException {
+        var path = Files.createTempFile("version", ".dfa");
+        path.toFile().deleteOnExit();
+
+        try (var output = new DataOutputStream(Files.newOutputStream(path))) {
+            output.writeInt(0x41555441);
+            output.writeInt(99);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            loader.loadFile(path);
+        });
+    }
+
+    @Test
+    public void throwsIfTheFileIsTruncated() throws IOException {
+        var bytes = Files.readAllBytes(savedPath);
+        var path = Files.createTempFile("truncated", ".dfa");
+        path.toFile().deleteOnExit();
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            loader.loadFile(path);
+        });
+    }
+
+    @Test
+    public void loadedAutomatonCanBeSavedAgain() throws IOException {
+        CompiledDeterministicAutomaton automaton = loader.loadFile(savedPath);
+        var path = Files.createTempFile("again", ".dfa");
+        path.toFile().deleteOnExit();
+
+        new AutomatonToBinaryFileSaver().saveToFile(automaton, path.toString());
+
+        assertArrayEquals(Files.readAllBytes(savedPath), Files.readAllBytes(path));
+        assertEquals(Set.of(new State("1")), loader.loadFile(path).getFinalStates());
+    }
+}
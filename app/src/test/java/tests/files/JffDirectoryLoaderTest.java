@@ -0,0 +1,129 @@
+package tests.files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assume.*;
+import static org.junit.Assert.*;
+
+import files.IJffDirectoryLoader;
+import files.JffDirectoryLoader;
+import files.JffFileParser;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.FileSystems;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class JffDirectoryLoaderTest {
+    private ExecutorService executor;
+    private IJffDirectoryLoader loader;
+    private Path directory;
+
+    @Before
+    public void setup() throws IOException {
+        executor = Executors.newFixedThreadPool(2);
+        loader = new JffDirectoryLoader(new JffFileParser(), executor);
+        directory = Files.createTempDirectory("automata");
+
+        var resources = Path.of(System.getProperty("user.dir"), "src", "main", "resources");
+        var subdirectory = Files.createDirectory(directory.resolve("nested"));
+
+        Files.copy(resources.resolve("deterministic-automaton.jff"), directory.resolve("deterministic.jff"));
+        Files.copy(resources.resolve("epsilon-automaton.jff"), subdirectory.resolve("epsilon.jff"));
+        Files.writeString(directory.resolve("broken.jff"), "<structure><state id=\"0\">");
+        Files.writeString(directory.resolve("notes.txt"), "not an automaton");
+
+        for (var path : new Path[] { directory, subdirectory }) {
+            try (var files = Files.list(path)) {
+                files.forEach(file -> file.toFile().deleteOnExit());
+            }
+
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void throwsIfTheDirectoryIsInvalid() {
+        assertThrows(NullPointerException.class, () -> {
+            loader.loadDirectory(null);
+        });
+
+        assertThrows(FileNotFoundException.class, () -> {
+            loader.loadDirectory(Path.of("bla"));
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            loader.loadDirectory(directory.resolve("notes.txt"));
+        });
+    }
+
+    @Test
+    public void loadsTheJffFilesOfTheWholeTreeAndReportsTheFailures() throws FileNotFoundException {
+        var result = loader.loadDirectory(directory);
+        var root = directory.toAbsolutePath().normalize();
+
+        assertEquals(2, result.getAutomata().size());
+        assertTrue(result.getAutomata().get(root.resolve("deterministic.jff")).isDeterministic());
+        assertTrue(result.getAutomata().get(root.resolve("nested").resolve("epsilon.jff")).accepts("a", "b"));
+
+        assertTrue(result.hasFailures());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey(root.resolve("broken.jff")));
+        assertEquals(0, result.getReusedFileCount());
+    }
+
+    @Test
+    public void reusesTheAutomataOfTheFilesThatDidNotChange() throws IOException {
+        var root = directory.toAbsolutePath().normalize();
+        var first = loader.loadDirectory(directory);
+        var second = loader.loadDirectory(directory);
+
+        assertEquals(2, second.getReusedFileCount());
+        assertSame(
+                first.getAutomata().get(root.resolve("deterministic.jff")),
+                second.getAutomata().get(root.resolve("deterministic.jff")));
+
+        var changedFile = root.resolve("nested").resolve("epsilon.jff");
+        Files.writeString(changedFile, Files.readString(changedFile).replace("<read>b</read>", "<read>c</read>"));
+        Files.setLastModifiedTime(changedFile, FileTime.fromMillis(0));
+
+        var third = loader.loadDirectory(directory);
+
+        assertEquals(1, third.getReusedFileCount());
+        assertTrue(third.getAutomata().get(changedFile).accepts("a", "c"));
+    }
+
+    @Test
+    public void reportsTheSubdirectoriesThatCannotBeReadAndLoadsTheOthers() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        var root = directory.toAbsolutePath().normalize();
+        var lockedDirectory = Files.createDirectory(root.resolve("locked"));
+        Files.setPosixFilePermissions(lockedDirectory, PosixFilePermissions.fromString("---------"));
+
+        try {
+            // permissions do not stop a superuser
+            assumeFalse(Files.isReadable(lockedDirectory));
+
+            var result = loader.loadDirectory(directory);
+
+            assertEquals(2, result.getAutomata().size());
+            assertEquals(2, result.getFailures().size());
+            assertTrue(result.getFailures().containsKey(lockedDirectory));
+        } finally {
+            Files.setPosixFilePermissions(lockedDirectory, PosixFilePermissions.fromString("rwx------"));
+            Files.delete(lockedDirectory);
+        }
+    }
+}
@@ -66,4 +66,31 @@ public class JffFileParserTest {
         assertEquals(Set.of(states[2]), transitionFunction.whereToGoWith(states[1], "b"));
         assertEquals(Set.of(states[1]), transitionFunction.whereToGoWith(states[2], "b"));
     }
+
+    @Test
+    public void emptyReadTagsBecomeEpsilonTransitions() throws FileNotFoundException {
+        var currentDir = System.getProperty("user.dir");
+        var jffFilePath = Path.of(currentDir, "src", "main", "resources", "epsilon-automaton.jff");
+        var automaton = parser.parseFile(jffFilePath);
+
+        assertEquals(Set.of("a", "b"), automaton.getAlphabet());
+        assertFalse(automaton.isDeterministic());
+        assertEquals(Set.of(new State("1")),
+                automaton.getTransitionFunction().whereToGoWithoutReadingASymbol(new State("0")));
+        assertTrue(automaton.accepts("a", "a", "b"));
+        assertFalse(automaton.accepts("b", "a"));
+    }
+
+    @Test
+    public void tagsDoNotNeedToBeOnSeparateLines() throws FileNotFoundException {
+        var currentDir = System.getProperty("user.dir");
+        var jffFilePath = Path.of(currentDir, "src", "main", "resources", "single-line-automaton.jff");
+        var automaton = parser.parseFile(jffFilePath);
+
+        assertEquals(new State("0"), automaton.getInitialState());
+        assertTrue(automaton.getInitialState().isAFinalState());
+        assertEquals(Set.of(new State("0"), new State("1")), automaton.getAllStates());
+        assertTrue(automaton.accepts("a", "b", "a", "b"));
+        assertFalse(automaton.accepts("a"));
+    }
 }
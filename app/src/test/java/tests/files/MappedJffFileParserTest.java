@@ -0,0 +1,154 @@
+package tests.files;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import automata.State;
+
+import files.IJffFileParser;
+import files.JffFileParser;
+import files.MappedJffFileParser;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+public class MappedJffFileParserTest {
+    private IJffFileParser parser;
+
+    @Before
+    public void setup() {
+        parser = new MappedJffFileParser();
+    }
+
+    @Test
+    public void throwsIfTheFilePathIsInvalid() {
+        assertThrows(NullPointerException.class, () -> {
+            parser.parseFile(null);
+        });
+    }
+
+    @Test
+    public void throwsIfTheFileDoesNotExistAtTheProvidedPath() {
+        assertThrows(FileNotFoundException.class, () -> {
+            parser.parseFile(Path.of("bla.jff"));
+        });
+    }
+
+    @Test
+    public void generatesTheSameAutomataAsTheStreamingParser() throws FileNotFoundException {
+        var streamingParser = new JffFileParser();
+        var fileNames = new String[] {
+                "deterministic-automaton.jff",
+                "non-deterministic-automaton.jff",
+                "epsilon-automaton.jff",
+                "single-line-automaton.jff",
+        };
+
+        for (var fileName : fileNames) {
+            var jffFilePath = Path.of(System.getProperty("user.dir"), "src", "main", "resources", fileName);
+            var expected = streamingParser.parseFile(jffFilePath);
+            var automaton = parser.parseFile(jffFilePath);
+
+            assertEquals(expected.getAllStates(), automaton.getAllStates());
+            assertEquals(expected.getInitialState(), automaton.getInitialState());
+            assertEquals(expected.getFinalStates(), automaton.getFinalStates());
+            assertEquals(expected.getAlphabet(), automaton.getAlphabet());
+
+            for (var state : expected.getAllStates()) {
+                for (var symbol : expected.getAlphabet()) {
+                    assertEquals(
+                            expected.getTransitionFunction().whereToGoWith(state, symbol),
+                            automaton.getTransitionFunction().whereToGoWith(state, symbol));
+                }
+
+                assertEquals(
+                        expected.getTransitionFunction().whereToGoWithoutReadingASymbol(state),
+                        automaton.getTransitionFunction().whereToGoWithoutReadingASymbol(state));
+            }
+        }
+    }
+
+    @Test
+    public void decodesEntitiesAndSkipsComments() throws IOException {
+        var jffFilePath = Files.createTempFile("mapped", ".jff");
+        jffFilePath.toFile().deleteOnExit();
+
+        Files.writeString(jffFilePath, "<?xml version=\"1.0\"?><structure><!-- <state id=\"x\"> -->"
+                + "<state name='q' id='&lt;0&gt;'><initial/><final/></state>"
+                + "<transition><from> &lt;0&gt; </from><to>&lt;0&gt;</to><read>&amp;</read></transition>"
+                + "</structure>");
+
+        var automaton = parser.parseFile(jffFilePath);
+
+        assertEquals(Set.of(new State("<0>")), automaton.getAllStates());
+        assertEquals(Set.of("&"), automaton.getAlphabet());
+        assertTrue(automaton.accepts("&", "&"));
+    }
+
+    @Test
+    public void throwsIfATransitionRefersToAnUnknownState() throws IOException {
+        var jffFilePath = Files.createTempFile("mapped", ".jff");
+        jffFilePath.toFile().deleteOnExit();
+
+        Files.writeString(jffFilePath, "<structure><state id=\"0\"><initial/></state>"
+                + "<transition><from>0</from><to>1</to><read>a</read></transition></structure>");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            parser.parseFile(jffFilePath);
+        });
+    }
+
+    @Test
+    public void decodesCharacterReferences() throws IOException {
+        var jffFilePath = Files.createTempFile("mapped", ".jff");
+        jffFilePath.toFile().deleteOnExit();
+
+        Files.writeString(jffFilePath, "<structure><state id=\"&#48;\"><initial/><final/></state>"
+                + "<transition><from>0</from><to>&#x30;</to><read>&#955;&#x1F600;</read></transition>"
+                + "</structure>");
+
+        var automaton = parser.parseFile(jffFilePath);
+
+        assertEquals(Set.of(new State("0")), automaton.getAllStates());
+        assertEquals(Set.of("\u03BB\uD83D\uDE00"), automaton.getAlphabet());
+    }
+
+    @Test
+    public void throwsIfACharacterReferenceIsMalformed() throws IOException {
+        var jffFilePath = Files.createTempFile("mapped", ".jff");
+        jffFilePath.toFile().deleteOnExit();
+
+        Files.writeString(jffFilePath, "<structure><state id=\"&#xZZ;\"><initial/></state></structure>");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            parser.parseFile(jffFilePath);
+        });
+    }
+
+    @Test
+    public void throwsIfTheFileHasCDataSectionsOrDtds() throws IOException {
+        var cDataFilePath = Files.createTempFile("mapped", ".jff");
+        cDataFilePath.toFile().deleteOnExit();
+
+        Files.writeString(cDataFilePath, "<structure><state id=\"0\"><initial/><final/></state>"
+                + "<transition><from>0</from><to>0</to><read><![CDATA[a]]></read></transition></structure>");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            parser.parseFile(cDataFilePath);
+        });
+
+        var dtdFilePath = Files.createTempFile("mapped", ".jff");
+        dtdFilePath.toFile().deleteOnExit();
+
+        Files.writeString(dtdFilePath, "<!DOCTYPE structure [<!ENTITY a \"b\">]>"
+                + "<structure><state id=\"0\"><initial/></state></structure>");
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            parser.parseFile(dtdFilePath);
+        });
+    }
+}